@@ -3,6 +3,9 @@ package org.viators.personalfinanceapp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.viators.personalfinanceapp.repository.NaturalIdJpaRepository;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -12,6 +15,8 @@ import java.util.stream.Stream;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
+@EnableJpaRepositories(repositoryBaseClass = NaturalIdJpaRepository.class)
+@EnableScheduling
 public class PersonalFinanceAppApplication {
 
 	public static void main(String[] args) {
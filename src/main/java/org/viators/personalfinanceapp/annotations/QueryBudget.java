@@ -0,0 +1,22 @@
+package org.viators.personalfinanceapp.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller handler method, including the services it calls, or a service
+ * method may send; statements sent by servlet filters are outside it. Going over it, or repeating the same
+ * statement too often (a likely N+1), is logged and counted, or fails the call with a
+ * {@link org.viators.personalfinanceapp.exceptions.QueryBudgetExceededException} when
+ * {@code app.query-budget.fail-on-violation} is set. Only the {@code explain} test profile sets it, which
+ * QueryBudgetEndpointTest runs every budgeted endpoint under.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+    int value();
+}
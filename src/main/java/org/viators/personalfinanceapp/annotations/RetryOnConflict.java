@@ -0,0 +1,30 @@
+package org.viators.personalfinanceapp.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a {@code @Transactional} service method, in a new transaction, when it fails on an optimistic lock
+ * (a concurrent update bumped the {@code @Version} first). Attempts are spaced by an exponential backoff with
+ * full jitter, so clients retrying the same row do not collide again in lockstep.
+ * <p>
+ * The whole method runs again against fresh state, so it must decide what to write from what it reads, not
+ * from what it read on the failed attempt. Joining a transaction that is already running disables the retry:
+ * only the outermost transaction can be re-run.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    // Including the first call
+    int maxAttempts() default 4;
+
+    // Upper bound of the first pause, doubled on every further attempt
+    long backoffMs() default 20;
+
+    long maxBackoffMs() default 500;
+}
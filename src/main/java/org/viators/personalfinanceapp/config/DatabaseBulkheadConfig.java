@@ -0,0 +1,39 @@
+package org.viators.personalfinanceapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.viators.personalfinanceapp.datasource.BulkheadDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.db-bulkhead", name = "enabled", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+    /**
+     * Puts a {@link BulkheadDataSource} in front of the data source the repositories use, whether it is the
+     * auto-configured pool or the replica routing proxy; both are registered as {@code dataSource}. The pools
+     * behind it stay unwrapped, so a connection takes exactly one permit.
+     */
+    @Bean
+    static BeanPostProcessor databaseBulkhead(ObjectProvider<MeterRegistry> meterRegistry,
+                                              @Value("${app.db-bulkhead.max-concurrent:10}") int maxConcurrent,
+                                              @Value("${app.db-bulkhead.max-wait-ms:2000}") long maxWaitMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource dataSource) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, Duration.ofMillis(maxWaitMs),
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
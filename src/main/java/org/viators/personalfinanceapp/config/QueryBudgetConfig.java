@@ -0,0 +1,70 @@
+package org.viators.personalfinanceapp.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
+import org.viators.personalfinanceapp.monitoring.QueryBudgetReporter;
+import org.viators.personalfinanceapp.monitoring.QueryScope;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class QueryBudgetConfig {
+
+    /**
+     * Applies {@link QueryBudget} around controller handler methods, against the default budget when they
+     * declare none, and around annotated service methods. The check runs before the handler returns, so a
+     * violation fails the request like any other exception. Infrastructure role so the auto-proxy creator
+     * already used for {@code @Transactional} picks it up, ordered just outside the transaction so the
+     * statements flushed on commit are counted.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor queryBudgetAdvisor(ObjectProvider<QueryBudgetReporter> queryBudgetReporter) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Controller.class, RequestMapping.class, true))
+                .union(new ComposablePointcut(new AnnotationMatchingPointcut(null, QueryBudget.class, true))
+                        .intersection((Class<?> type) -> !AnnotatedElementUtils.hasAnnotation(type, Controller.class)));
+
+        MethodInterceptor interceptor = invocation -> {
+            Method method = invocation.getMethod();
+            QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+            boolean handler = AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), Controller.class);
+            if (budget == null && !handler) {
+                return invocation.proceed();
+            }
+
+            QueryBudgetReporter reporter = queryBudgetReporter.getObject();
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            QueryScope scope = handler ? reporter.openRequest(name, budget) : reporter.openCall(name, budget);
+            boolean completed = false;
+            try {
+                Object result = invocation.proceed();
+                completed = true;
+                return result;
+            } finally {
+                if (completed) {
+                    reporter.close(scope);
+                } else {
+                    // Don't hide the original exception behind a budget violation
+                    scope.close();
+                }
+            }
+        };
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
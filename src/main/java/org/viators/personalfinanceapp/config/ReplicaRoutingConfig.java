@@ -0,0 +1,94 @@
+package org.viators.personalfinanceapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.viators.personalfinanceapp.datasource.ReadYourWritesTracker;
+import org.viators.personalfinanceapp.datasource.ReplicaProperties;
+import org.viators.personalfinanceapp.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the read replicas listed under
+ * {@code app.datasource.replicas}. Without any replica configured none of this is created and the
+ * auto-configured pool is used as is.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    // The pool Spring Boot would have created, bound to the usual spring.datasource.* settings
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(Duration.ofMillis(properties.readYourWritesWindowMs()));
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = properties.replicas();
+        for (int i = 0; i < configured.size(); i++) {
+            replicas.put("replica-" + i, replicaPool("replica-" + i, configured.get(i), primaryDataSource));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Gives the connection back at the end of every transaction instead of holding it for the life of the
+     * EntityManager. With open-in-view one EntityManager serves the whole request, and a held connection
+     * would carry a read-write transaction (the password rehash after a login, for instance) onto the
+     * replica connection an earlier read-only transaction of the same request was routed to.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource replicaPool(String name, ReplicaProperties.Replica replica, HikariDataSource primary) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setDriverClassName(primary.getDriverClassName());
+        pool.setJdbcUrl(replica.url());
+        pool.setUsername(replica.username());
+        pool.setPassword(replica.password());
+        pool.setMaximumPoolSize(replica.maximumPoolSize());
+        pool.setReadOnly(true);
+        // Same driver settings as the primary (cursor fetch, batching flags)
+        pool.setDataSourceProperties(primary.getDataSourceProperties());
+        return pool;
+    }
+}
@@ -0,0 +1,31 @@
+package org.viators.personalfinanceapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.viators.personalfinanceapp.annotations.RetryOnConflict;
+
+@Configuration
+public class RetryOnConflictConfig {
+
+    /**
+     * Applies {@link RetryOnConflict}. Ordered outside the transaction, which has to be rolled back and started
+     * again for each attempt, and outside {@code @QueryBudget}, whose budget is per attempt.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor retryOnConflictAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, RetryOnConflict.class, true),
+                new RetryOnConflictInterceptor(meterRegistry::getObject));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return advisor;
+    }
+}
@@ -0,0 +1,98 @@
+package org.viators.personalfinanceapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.StaleStateException;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.viators.personalfinanceapp.annotations.RetryOnConflict;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link RetryOnConflict}. Counts {@code db.conflict.retries} per method with the outcome:
+ * {@code retried} for every new attempt, {@code recovered} when one of them succeeded, {@code aborted}
+ * when the attempts ran out and the conflict reached the caller.
+ */
+@Slf4j
+public class RetryOnConflictInterceptor implements MethodInterceptor {
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public RetryOnConflictInterceptor(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        RetryOnConflict retry = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class);
+        if (retry == null || TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // A clone per attempt, an invocation can only walk the rest of the chain once
+                Object result = proxyInvocation.invocableClone().proceed();
+                if (attempt > 1) {
+                    count(name, "recovered");
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= retry.maxAttempts()) {
+                    count(name, "aborted");
+                    log.warn("{} still conflicting after {} attempts", name, attempt);
+                    throw e;
+                }
+                count(name, "retried");
+                log.debug("{} conflicted on attempt {}, retrying", name, attempt);
+                pause(retry, attempt, e);
+            }
+        }
+    }
+
+    private static boolean isConflict(Throwable exception) {
+        for (Throwable e = exception; e != null; e = e.getCause()) {
+            if (e instanceof OptimisticLockingFailureException
+                    || e instanceof OptimisticLockException
+                    || e instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Full jitter: anywhere between no pause and the exponential bound
+    private static void pause(RetryOnConflict retry, int attempt, RuntimeException conflict) {
+        long bound = Math.min(retry.maxBackoffMs(), retry.backoffMs() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder("db.conflict.retries")
+                .description("Methods re-run after an optimistic lock conflict")
+                .tag("method", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry.get())
+                .increment();
+    }
+}
@@ -1,6 +1,8 @@
 package org.viators.personalfinanceapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -9,16 +11,20 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.viators.personalfinanceapp.security.BoundedPasswordEncoder;
 import org.viators.personalfinanceapp.security.JwtAuthenticationFilter;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -67,8 +73,24 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Hashes are stored as {bcrypt}... so the cost factor (or the algorithm) can be changed later:
+     * upgradeEncoding() flags older hashes and AuthService rehashes them on the next successful login.
+     * Hashes stored before the prefix was introduced are plain bcrypt and still match.
+     * All hashing runs on a bounded executor, see BoundedPasswordEncoder.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder () {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${app.password.hashing.pool-size:0}") int poolSize,
+                                           @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.password.hashing.timeout-ms:5000}") long timeoutMs) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, queueCapacity,
+                Duration.ofMillis(timeoutMs), meterRegistry);
     }
 }
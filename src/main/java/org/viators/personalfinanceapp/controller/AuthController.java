@@ -1,15 +1,20 @@
 package org.viators.personalfinanceapp.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
 import org.viators.personalfinanceapp.dto.user.request.LoginUserRequest;
 import org.viators.personalfinanceapp.dto.user.response.UserAuthResponse;
+import org.viators.personalfinanceapp.security.LoginThrottle;
 import org.viators.personalfinanceapp.service.AuthService;
 
 @RestController
@@ -19,12 +24,30 @@ import org.viators.personalfinanceapp.service.AuthService;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
+    @QueryBudget(5)
     @PostMapping("/login")
     public ResponseEntity<UserAuthResponse> login(
-            @RequestBody @Valid LoginUserRequest request) {
+            @RequestBody @Valid LoginUserRequest request,
+            HttpServletRequest httpRequest) {
+
+        // Before any lookup or hashing, so abusive clients are turned away cheaply.
+        // The remote address is the X-Forwarded-For client when the request came through a trusted proxy.
+        loginThrottle.checkAllowed(request.email(), httpRequest.getRemoteAddr());
 
         UserAuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @QueryBudget(4)
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            authService.logout(authHeader.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -4,16 +4,19 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
 import org.viators.personalfinanceapp.dto.category.request.CreateCategoryRequest;
 import org.viators.personalfinanceapp.dto.category.request.UpdateCategoryRequest;
 import org.viators.personalfinanceapp.dto.category.response.CategoryDetailsResponse;
 import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.common.response.CursorPageResponse;
 import org.viators.personalfinanceapp.service.CategoryService;
 
 @RestController
@@ -23,6 +26,7 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    @QueryBudget(3)
     @GetMapping
     public ResponseEntity<Page<CategorySummaryResponse>> getCategories(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
                                                                        @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC)
@@ -32,6 +36,27 @@ public class CategoryController {
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(2)
+    @GetMapping("/slice")
+    public ResponseEntity<Slice<CategorySummaryResponse>> getCategorySlice(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
+                                                                           @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC)
+                                                                           Pageable pageable) {
+
+        Slice<CategorySummaryResponse> response = categoryService.getCategorySlice(userUuid, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @QueryBudget(2)
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<CategorySummaryResponse>> scrollCategories(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
+                                                                                        @RequestParam(required = false) String cursor,
+                                                                                        @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageResponse<CategorySummaryResponse> response = categoryService.scrollCategories(userUuid, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @QueryBudget(3)
     @GetMapping("/{uuid}")
     public ResponseEntity<CategoryDetailsResponse> getCategoryWithDetails(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
                                                                           @PathVariable("uuid") String categoryUuid) {
@@ -40,6 +65,7 @@ public class CategoryController {
     }
 
 
+    @QueryBudget(4)
     @PostMapping("/create")
     public ResponseEntity<CategorySummaryResponse> createCategory(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
                                                                   @RequestBody @Valid CreateCategoryRequest request) {
@@ -47,6 +73,7 @@ public class CategoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @QueryBudget(4)
     @PutMapping("/{categoryUuid}")
     public ResponseEntity<CategorySummaryResponse> updateCategory(@AuthenticationPrincipal(expression = "currentUser.uuid") String userUuid,
                                                                   @PathVariable String categoryUuid,
@@ -3,14 +3,24 @@ package org.viators.personalfinanceapp.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
 import org.viators.personalfinanceapp.dto.user.request.CreateUserRequest;
 import org.viators.personalfinanceapp.dto.user.request.UpdateUserRequest;
 import org.viators.personalfinanceapp.dto.user.response.UserDetailsResponse;
 import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.model.enums.ExportFormatEnum;
+import org.viators.personalfinanceapp.model.enums.SearchModeEnum;
+import org.viators.personalfinanceapp.service.UserExportService;
 import org.viators.personalfinanceapp.service.UserService;
 
 @RestController
@@ -20,7 +30,9 @@ import org.viators.personalfinanceapp.service.UserService;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
 
+    @QueryBudget(8)
     @PostMapping("/register")
     public ResponseEntity<UserSummaryResponse> register(
             @Valid @RequestBody CreateUserRequest request) {
@@ -28,24 +40,52 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @QueryBudget(2)
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Slice<UserSummaryResponse>> searchUsers(@RequestParam("q") String query,
+                                                                  @RequestParam(defaultValue = "CONTAINS") SearchModeEnum mode,
+                                                                  @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Slice<UserSummaryResponse> response = userService.searchUsers(query, mode, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    // Streamed from a database cursor, the response never holds more than a few rows. The body is written after
+    // the handler returns, so the export query counts against UserExportService.export, not this budget
+    @QueryBudget(0)
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "NDJSON") ExportFormatEnum format) {
+        StreamingResponseBody body = out -> userExportService.export(format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    // The sections are loaded on virtual threads, the request thread itself sends no statement
+    @QueryBudget(0)
     @GetMapping("/{uuid}/details")
     public ResponseEntity<UserDetailsResponse> getUserWithDetails(@PathVariable String uuid) {
         UserDetailsResponse response = userService.findUserByUuidWithAllRelationships(uuid);
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(2)
     @GetMapping("/{uuid}")
     public ResponseEntity<UserSummaryResponse> getUser(@PathVariable String uuid) {
         UserSummaryResponse response = userService.findUserByUuid(uuid);
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(6)
     @PutMapping("/{uuid}/update")
     public ResponseEntity<UserSummaryResponse> updateUser(@PathVariable String uuid, @RequestBody UpdateUserRequest request) {
         UserSummaryResponse response = userService.updateUserInfo(uuid, request);
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(6)
     @DeleteMapping("/{uuid}/deactivate")
     @PreAuthorize("@userSecurity.isSelf(#uuid)")
     public ResponseEntity<Void> deactivateUser(@PathVariable String uuid) {
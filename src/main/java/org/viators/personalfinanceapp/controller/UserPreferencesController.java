@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
 import org.viators.personalfinanceapp.dto.userpreferences.request.UpdatePreferredStoresRequest;
 import org.viators.personalfinanceapp.dto.userpreferences.request.UpdateUserPrefRequest;
 import org.viators.personalfinanceapp.dto.userpreferences.response.UserPreferencesSummaryResponse;
@@ -20,12 +21,14 @@ public class UserPreferencesController {
     private final UserPreferencesService userPreferencesService;
     private final UserRepository userRepository;
 
+    @QueryBudget(2)
     @GetMapping("/{uuid}")
     public ResponseEntity<UserPreferencesSummaryResponse> getUserPreferences(@PathVariable String uuid) {
         UserPreferencesSummaryResponse response = userPreferencesService.getPreferences(uuid);
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(3)
     @PutMapping("/{uuid}")
     public ResponseEntity<UserPreferencesSummaryResponse> updateUserPreferences(
             @PathVariable String uuid,
@@ -34,11 +37,13 @@ public class UserPreferencesController {
         return ResponseEntity.ok(response);
     }
 
+    @QueryBudget(3)
     @PutMapping("/{uuid}/reset")
     public ResponseEntity<UserPreferencesSummaryResponse> resetToDefault(@PathVariable String uuid) {
         return ResponseEntity.ok(userPreferencesService.resetUserPrefsToDefault(uuid));
     }
 
+    @QueryBudget(4)
     @PutMapping("/{uuid}/update-favorite-stores")
     public ResponseEntity<Void> updateFavoriteStores(@PathVariable() String uuid,
                                                      @RequestBody @Valid UpdatePreferredStoresRequest request) {
@@ -0,0 +1,119 @@
+package org.viators.personalfinanceapp.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.viators.personalfinanceapp.exceptions.DatabaseBusyException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many connections the application holds at once with a fair semaphore in front of the pool.
+ * <p>
+ * Requests run on virtual threads, so there is no thread pool left to bound how many of them wait for a
+ * connection. They queue here instead, in arrival order, for at most {@code maxWait}; past that the request
+ * fails fast with a 503 rather than piling up on the pool's own, much longer timeout. A permit is held from
+ * {@code getConnection} until the connection is closed, which for Spring-managed transactions is the whole
+ * transaction.
+ * <p>
+ * Metrics: {@code db.bulkhead.wait} (time spent queueing, with percentiles), {@code db.bulkhead.rejected},
+ * and the {@code db.bulkhead.available} and {@code db.bulkhead.queued} gauges.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Timer waitTime;
+    private final Counter rejected;
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWait = maxWait;
+        this.waitTime = Timer.builder("db.bulkhead.wait")
+                .description("Time spent waiting for a database permit")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("db.bulkhead.rejected")
+                .description("Connection requests that timed out waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Database permits currently free")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for a database connection");
+        } finally {
+            waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new DatabaseBusyException("The database is busy, please retry");
+        }
+    }
+
+    // Closing twice must not release twice
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package org.viators.personalfinanceapp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.viators.personalfinanceapp.security.UserDetailsImpl;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their reads can be kept on the primary
+ * until the replicas have caught up with it. Registered on the transaction manager as an execution listener.
+ * <p>
+ * Only authenticated users are tracked. Writes of anonymous requests (registration, login) are not followed
+ * by reads of the same caller that could observe the lag.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            String user = currentUser();
+            if (user != null) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean wroteRecently() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserDetailsImpl principal
+                ? principal.currentUser().uuid()
+                : null;
+    }
+}
@@ -0,0 +1,43 @@
+package org.viators.personalfinanceapp.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Read replicas that read-only transactions are routed to, see {@link ReplicaRoutingDataSource}.
+ *
+ * @param replicas                 replica connections, routing is off when there are none
+ * @param selection                how a replica is picked for each read-only transaction
+ * @param maxLagMs                 replicas further behind than this are skipped until they catch up
+ * @param lagCheckIntervalMs       how often the lag of each replica is measured
+ * @param lagQuery                 query returning the lag of a replica in seconds, blank to only check the
+ *                                 connection; a {@code null} lag means replication is not running
+ * @param lagColumn                column of {@code lagQuery} holding the lag, blank for the first one
+ * @param readYourWritesWindowMs   after a user's write commits, their reads go to the primary for this long
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("ROUND_ROBIN") Selection selection,
+        @DefaultValue("2000") long maxLagMs,
+        @DefaultValue("5000") long lagCheckIntervalMs,
+        @DefaultValue("") String lagQuery,
+        @DefaultValue("") String lagColumn,
+        @DefaultValue("5000") long readYourWritesWindowMs
+) {
+
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
@@ -0,0 +1,144 @@
+package org.viators.personalfinanceapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the database a read-only connection comes from: one of the replicas, or the primary when none of
+ * them can serve it.
+ * <p>
+ * It is the read-only side of a {@link LazyConnectionDataSourceProxy}. The proxy hands out a connection
+ * without opening one; only when the first statement runs, after a {@code @Transactional(readOnly = true)}
+ * transaction has marked the connection read-only, does it fetch the real one from here. Everything else,
+ * including every read-write transaction, goes to the primary directly.
+ * <p>
+ * The primary is used instead of a replica when
+ * <ul>
+ *     <li>the current user committed a write within the read-your-writes window, see {@link ReadYourWritesTracker}</li>
+ *     <li>every replica is further behind than the allowed lag or unreachable at the last check</li>
+ * </ul>
+ * A replica only joins the rotation once a check has found it caught up; the first check runs at startup.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final ReplicaProperties properties;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReplicaProperties properties, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.properties = properties;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWritesTracker.wroteRecently()) {
+            return PRIMARY;
+        }
+
+        List<Replica> healthy = replicas.stream().filter(Replica::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+
+        Replica replica = switch (properties.selection()) {
+            case ROUND_ROBIN -> healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+            case LEAST_CONNECTIONS -> healthy.stream()
+                    .min(Comparator.comparingInt(Replica::activeConnections))
+                    .orElseThrow();
+        };
+        return replica.name;
+    }
+
+    /**
+     * Measures how far each replica is behind and takes the ones over {@code max-lag-ms}, or failing the check,
+     * out of rotation until a later check finds them caught up.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean healthy;
+        try (Connection connection = replica.dataSource.getConnection()) {
+            healthy = properties.lagQuery().isBlank()
+                    ? connection.isValid(1)
+                    : lagMs(connection) <= properties.maxLagMs();
+        } catch (Exception e) {
+            log.debug("Replica {} check failed", replica.name, e);
+            healthy = false;
+        }
+
+        if (healthy != replica.healthy) {
+            log.warn("Replica {} {} rotation", replica.name, healthy ? "back in" : "taken out of");
+            replica.healthy = healthy;
+        }
+    }
+
+    private long lagMs(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(1);
+            try (ResultSet result = statement.executeQuery(properties.lagQuery())) {
+                Object lag = !result.next() ? null
+                        : properties.lagColumn().isBlank() ? result.getObject(1) : result.getObject(properties.lagColumn());
+                // No row or no value: replication is not running, the replica is as stale as it gets
+                return lag instanceof Number seconds ? (long) (seconds.doubleValue() * 1000) : Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isHealthy() {
+            return healthy;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource instanceof HikariDataSource hikari ? hikari.getHikariPoolMXBean() : null;
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.viators.personalfinanceapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Brings a schema that Hibernate created with {@code ddl-auto}, and that Flyway baselined at V1, in line with
+ * what V1 creates, so the later migrations run on it unchanged.
+ * <p>
+ * Such a schema differs from V1 in four ways: the ids are IDENTITY columns and the id sequences are missing,
+ * the unique constraints carry Hibernate-generated names (V2 drops the uuid ones by name on MySQL),
+ * {@code users.lastname} has a unique index that V1 deliberately left out, and {@code token_revocations},
+ * which came after those schemas, is missing along with its indexes. The IDENTITY columns are left alone,
+ * they accept the ids Hibernate now assigns. On a database built by V1 every step is a no-op.
+ * <p>
+ * Written in Java because it depends on what the schema contains; Spring Boot hands the bean to Flyway.
+ */
+@Component
+@Slf4j
+public class V1_1__Align_hibernate_schema extends BaseJavaMigration {
+
+    // Tables whose ids come from entity_id_seq, the revocations have a sequence of their own
+    private static final List<String> ENTITY_TABLES = List.of("users", "stores", "user_preferences", "categories",
+            "items", "price_observations", "price_alerts", "price_comparisons", "inflation_reports", "shopping_lists",
+            "shopping_list_items", "baskets", "baskets_items");
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+
+        try (Statement statement = connection.createStatement()) {
+            if (mysql) {
+                for (String table : ENTITY_TABLES) {
+                    renameUniqueIndex(connection, statement, table, "uuid", "uk_" + table + "_uuid");
+                }
+            }
+            Optional<String> lastnameIndex = uniqueIndexOn(connection, "users", "lastname");
+            if (lastnameIndex.isPresent()) {
+                log.info("Dropping unique index {} on users.lastname", lastnameIndex.get());
+                statement.execute(mysql
+                        ? "alter table users drop index " + lastnameIndex.get()
+                        : "alter table users drop constraint " + lastnameIndex.get());
+            }
+
+            if (!tableExists(connection, "token_revocations")) {
+                log.info("Creating token_revocations");
+                createTokenRevocations(statement, mysql);
+            }
+
+            advanceSequence(statement, mysql, "entity_id_seq", maxId(statement, ENTITY_TABLES));
+            advanceSequence(statement, mysql, "token_revocations_seq", maxId(statement, List.of("token_revocations")));
+        }
+    }
+
+    private void renameUniqueIndex(Connection connection, Statement statement, String table, String column,
+                                   String name) throws SQLException {
+        Optional<String> current = uniqueIndexOn(connection, table, column);
+        if (current.isPresent() && !current.get().equalsIgnoreCase(name)) {
+            log.info("Renaming unique index {}.{} to {}", table, current.get(), name);
+            statement.execute("alter table " + table + " rename index " + current.get() + " to " + name);
+        }
+    }
+
+    /**
+     * Name of the unique index covering exactly {@code column}, if there is one.
+     */
+    private Optional<String> uniqueIndexOn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, true)) {
+            while (indexes.next()) {
+                String index = indexes.getString("INDEX_NAME");
+                String indexColumn = indexes.getString("COLUMN_NAME");
+                if (index != null && indexColumn != null) {
+                    columnsByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(indexColumn.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columnsByIndex.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(List.of(column)))
+                .map(Map.Entry::getKey)
+                .filter(index -> !index.equalsIgnoreCase("PRIMARY"))
+                .findFirst();
+    }
+
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(),
+                table, new String[] {"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    // As V1 creates it; the revocation times are still epoch seconds at this version, V7 converts them
+    private void createTokenRevocations(Statement statement, boolean mysql) throws SQLException {
+        statement.execute("""
+                create table token_revocations (
+                    id bigint not null,
+                    user_uuid varchar(36) not null,
+                    token_id varchar(36),
+                    revoked_at bigint not null,
+                    expires_at bigint not null,
+                    primary key (id)
+                )""" + (mysql ? " engine = InnoDB" : ""));
+        statement.execute("create index idx_token_revocation_revoked_at on token_revocations (revoked_at)");
+        statement.execute("create index idx_token_revocation_expires_at on token_revocations (expires_at)");
+    }
+
+    private long maxId(Statement statement, List<String> tables) throws SQLException {
+        long max = 0;
+        for (String table : tables) {
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                result.next();
+                max = Math.max(max, result.getLong(1));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Creates the sequence when it is missing and makes sure the next block Hibernate reserves starts past
+     * {@code maxId}, a whole allocation ahead so it holds whichever end of the block the value stands for.
+     */
+    private void advanceSequence(Statement statement, boolean mysql, String sequence, long maxId) throws SQLException {
+        long next = maxId + ALLOCATION_SIZE + 1;
+
+        if (mysql) {
+            statement.execute("create table if not exists " + sequence + " (next_val bigint) engine = InnoDB");
+            statement.execute("insert into " + sequence + " (next_val) select 1 from dual"
+                    + " where not exists (select * from " + sequence + ")");
+            if (maxId > 0) {
+                statement.execute("update " + sequence + " set next_val = greatest(next_val, " + next + ")");
+            }
+        } else {
+            statement.execute("create sequence if not exists " + sequence
+                    + " start with 1 increment by " + ALLOCATION_SIZE);
+            if (maxId > 0) {
+                statement.execute("select setval('" + sequence + "', greatest((select last_value from "
+                        + sequence + "), " + next + "))");
+            }
+        }
+    }
+}
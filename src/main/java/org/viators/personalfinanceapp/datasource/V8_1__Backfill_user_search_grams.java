@@ -0,0 +1,57 @@
+package org.viators.personalfinanceapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+import org.viators.personalfinanceapp.model.SearchGrams;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills {@code user_search_grams}, created by V8, for the users that exist already; the application keeps it
+ * up to date from then on.
+ * <p>
+ * Written in Java because the grams come from {@link SearchGrams}, the same code that maintains them, so the
+ * backfilled rows cannot differ from the ones the application would have written.
+ */
+@Component
+@Slf4j
+public class V8_1__Backfill_user_search_grams extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long users = 0;
+        int pending = 0;
+
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("select id, username, email, firstname, lastname from users");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into user_search_grams (user_id, gram) values (?, ?)")) {
+            while (rows.next()) {
+                long id = rows.getLong("id");
+                for (String gram : SearchGrams.of(rows.getString("username"), rows.getString("email"),
+                        rows.getString("firstname"), rows.getString("lastname"))) {
+                    insert.setLong(1, id);
+                    insert.setString(2, gram);
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                users++;
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+        log.info("Backfilled search grams of {} users", users);
+    }
+}
@@ -19,7 +19,7 @@ public record BasketSummaryResponse(
         return new BasketSummaryResponse(
                 basket.getName(),
                 basket.getDescription(),
-                basket.getBasketItems().size()
+                basket.getItemsCount()
         );
     }
 
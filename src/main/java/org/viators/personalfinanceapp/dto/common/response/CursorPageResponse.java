@@ -0,0 +1,30 @@
+package org.viators.personalfinanceapp.dto.common.response;
+
+import org.springframework.data.domain.Window;
+import org.viators.personalfinanceapp.pagination.ScrollCursors;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One window of a keyset-paginated listing. {@code nextCursor} is passed back as {@code cursor} to get the
+ * rows after the last one shown, and is {@code null} on the last window.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+
+    public static <T> CursorPageResponse<T> from(Window<T> window) {
+        return from(window, Function.identity());
+    }
+
+    public static <E, T> CursorPageResponse<T> from(Window<E> window, Function<E, T> mapper) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? ScrollCursors.encode(window.positionAt(window.size() - 1))
+                : null;
+
+        return new CursorPageResponse<>(window.map(mapper).getContent(), nextCursor, nextCursor != null);
+    }
+}
@@ -0,0 +1,23 @@
+package org.viators.personalfinanceapp.dto.common.response;
+
+import java.util.List;
+
+/**
+ * The first rows of a collection embedded in a larger response. {@code hasMore} tells the client the
+ * section was cut at the limit, {@code moreUrl} is the paged endpoint listing the rest when one exists.
+ */
+public record SectionResponse<T>(
+        List<T> content,
+        boolean hasMore,
+        String moreUrl
+) {
+
+    /**
+     * @param rows rows read with a limit of {@code limit + 1}, the extra row only tells whether more exist
+     */
+    public static <T> SectionResponse<T> of(List<T> rows, int limit, String moreUrl) {
+        boolean hasMore = rows.size() > limit;
+        return new SectionResponse<>(hasMore ? List.copyOf(rows.subList(0, limit)) : rows, hasMore,
+                hasMore ? moreUrl : null);
+    }
+}
@@ -14,7 +14,7 @@ public record ShoppingListSummaryResponse(
         return new ShoppingListSummaryResponse(
                 shoppingList.getName(),
                 shoppingList.getDescription(),
-                shoppingList.getShoppingListItems().size()
+                shoppingList.getItemsCount()
         );
     }
 
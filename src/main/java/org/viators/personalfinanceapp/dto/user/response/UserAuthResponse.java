@@ -2,6 +2,7 @@ package org.viators.personalfinanceapp.dto.user.response;
 
 import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.security.AuthenticatedUser;
 
 public record UserAuthResponse(
         String token,
@@ -23,4 +24,16 @@ public record UserAuthResponse(
                 expiresIn
         );
     }
+
+    public static UserAuthResponse of(String token, AuthenticatedUser user, long expiresIn) {
+        return new UserAuthResponse(
+                token,
+                "Bearer",
+                user.uuid(),
+                user.email(),
+                user.username(),
+                user.userRole(),
+                expiresIn
+        );
+    }
 }
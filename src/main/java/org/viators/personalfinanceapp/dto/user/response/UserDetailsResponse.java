@@ -2,6 +2,7 @@ package org.viators.personalfinanceapp.dto.user.response;
 
 import org.viators.personalfinanceapp.dto.basket.response.BasketSummaryResponse;
 import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.common.response.SectionResponse;
 import org.viators.personalfinanceapp.dto.inflationreport.response.InflationReportSummaryResponse;
 import org.viators.personalfinanceapp.dto.item.response.ItemSummaryResponse;
 import org.viators.personalfinanceapp.dto.pricealert.response.PriceAlertSummaryResponse;
@@ -11,8 +12,10 @@ import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * Every section holds at most {@code app.user-details.section-limit} rows and says whether it was cut.
+ */
 public record UserDetailsResponse(
         String uuid,
         String username,
@@ -22,30 +25,38 @@ public record UserDetailsResponse(
         UserRolesEnum userRole,
         LocalDateTime createdAt,
         UserPreferencesSummaryResponse userPreferences,
-        List<ItemSummaryResponse> items,
-        List<CategorySummaryResponse> categories,
-        List<PriceAlertSummaryResponse> priceAlerts,
-        List<ShoppingListSummaryResponse> shoppingLists,
-        List<InflationReportSummaryResponse> inflationReports,
-        List<BasketSummaryResponse> baskets
+        SectionResponse<ItemSummaryResponse> items,
+        SectionResponse<CategorySummaryResponse> categories,
+        SectionResponse<PriceAlertSummaryResponse> priceAlerts,
+        SectionResponse<ShoppingListSummaryResponse> shoppingLists,
+        SectionResponse<InflationReportSummaryResponse> inflationReports,
+        SectionResponse<BasketSummaryResponse> baskets
 ) {
 
-    public static UserDetailsResponse from(User user) {
+    public static UserDetailsResponse from(User user,
+                                           SectionResponse<ItemSummaryResponse> items,
+                                           SectionResponse<CategorySummaryResponse> categories,
+                                           SectionResponse<PriceAlertSummaryResponse> priceAlerts,
+                                           SectionResponse<ShoppingListSummaryResponse> shoppingLists,
+                                           SectionResponse<InflationReportSummaryResponse> inflationReports,
+                                           SectionResponse<BasketSummaryResponse> baskets) {
         return new UserDetailsResponse(
-                user.getUsername(),
                 user.getUuid(),
+                user.getUsername(),
                 user.getFirstName().concat(" ").concat(user.getLastName()),
                 user.getEmail(),
                 user.getStatus().equals("1"),
                 user.getUserRole(),
                 user.getCreatedAt(),
-                UserPreferencesSummaryResponse.from(user.getUserPreferences()),
-                ItemSummaryResponse.listOfSummaries(user.getItems()),
-                CategorySummaryResponse.listOfSummaries(user.getCategories()),
-                PriceAlertSummaryResponse.listOfSummaries(user.getPriceAlerts()),
-                ShoppingListSummaryResponse.listOfSummaries(user.getShoppingLists()),
-                InflationReportSummaryResponse.listOfSummaries(user.getInflationReports()),
-                BasketSummaryResponse.listOfSummaries(user.getBaskets())
+                user.getUserPreferences() != null
+                        ? UserPreferencesSummaryResponse.from(user.getUserPreferences())
+                        : null,
+                items,
+                categories,
+                priceAlerts,
+                shoppingLists,
+                inflationReports,
+                baskets
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.viators.personalfinanceapp.events;
+
+import org.viators.personalfinanceapp.model.User;
+
+/**
+ * Published by {@code UserService} whenever a user's account changes.
+ * <p>
+ * Listeners that keep security state in memory (token revocation, caches) react to it
+ * instead of being called directly from the service.
+ *
+ * @param userUuid      the user that changed
+ * @param email         the email of the user after the change
+ * @param previousEmail the email before the change, differs from {@code email} only when the email was changed
+ * @param changeType    what changed
+ */
+public record UserChangedEvent(
+        String userUuid,
+        String email,
+        String previousEmail,
+        ChangeType changeType
+) {
+
+    public enum ChangeType {
+        REGISTERED,
+        PROFILE_UPDATED,
+        EMAIL_CHANGED,
+        ROLE_CHANGED,
+        PASSWORD_CHANGED,
+        PASSWORD_REHASHED,
+        DEACTIVATED
+    }
+
+    public static UserChangedEvent of(User user, ChangeType changeType) {
+        return of(user, user.getEmail(), changeType);
+    }
+
+    public static UserChangedEvent of(User user, String previousEmail, ChangeType changeType) {
+        return new UserChangedEvent(user.getUuid(), user.getEmail(), previousEmail, changeType);
+    }
+
+    /**
+     * Tokens carry the email (subject) and role of the user, so any of these changes make
+     * already issued tokens stale.
+     */
+    public boolean revokesTokens() {
+        return switch (changeType) {
+            case EMAIL_CHANGED, ROLE_CHANGED, PASSWORD_CHANGED, DEACTIVATED -> true;
+            case REGISTERED, PROFILE_UPDATED, PASSWORD_REHASHED -> false;
+        };
+    }
+}
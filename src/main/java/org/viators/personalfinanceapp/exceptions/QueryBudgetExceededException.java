@@ -0,0 +1,7 @@
+package org.viators.personalfinanceapp.exceptions;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package org.viators.personalfinanceapp.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,13 +12,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "baskets")
+@Table(
+        name = "baskets",
+        indexes = {
+                @Index(name = "idx_basket_user_name", columnList = "user_id, name")
+        }
+)
+@NamedEntityGraph(
+        name = Basket.GRAPH_DETAILS,
+        attributeNodes = @NamedAttributeNode(value = "basketItems", subgraph = "basketItems.item"),
+        subgraphs = @NamedSubgraph(name = "basketItems.item", attributeNodes = @NamedAttributeNode("item"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Basket extends BaseEntity {
 
+    public static final String GRAPH_DETAILS = "Basket.details";
+
     @Column(name = "name", nullable = false)
     private String name;
 
@@ -27,10 +40,18 @@ public class Basket extends BaseEntity {
     @Column(name = "is_default")
     private Boolean isDefault;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * Number of entries in {@link #basketItems}, kept in step by {@link #addItem} and {@link #removeItem} so
+     * summaries can show it without loading the collection. Concurrent changes conflict on the version.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "items_count", nullable = false)
+    private int itemsCount;
+
     // Simple case
 //    /**
 //     * @JoinTable tells JPA to create a join table named "baskets_items"
@@ -51,6 +72,8 @@ public class Basket extends BaseEntity {
 //    private List<Item> items = new ArrayList<>();
 
     // Approach of creating a new Join Entity to represent the relationship between Item and Basket, plus some extra field
+    // Changed through addItem and removeItem only, which keep itemsCount in step
+    @Setter(AccessLevel.NONE)
     @OneToMany(mappedBy = "basket", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BasketItem> basketItems = new ArrayList<>();
 
@@ -77,6 +100,7 @@ public class Basket extends BaseEntity {
             basketItem.setBasket(this);
             basketItem.setItem(item);
             basketItem.setQuantity(quontity);
+            itemsCount++;
         }
     }
 
@@ -87,6 +111,8 @@ public class Basket extends BaseEntity {
     public void removeItem(Item item) {
         if (item == null) return;
 
-        basketItems.removeIf(bi -> bi.getItem().equals(item));
+        if (basketItems.removeIf(bi -> bi.getItem().equals(item))) {
+            itemsCount--;
+        }
     }
 }
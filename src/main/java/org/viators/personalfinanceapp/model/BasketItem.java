@@ -14,7 +14,8 @@ import java.math.BigDecimal;
         uniqueConstraints = @UniqueConstraint(
                 name = "uk_basket_item",
                 columnNames = {"basket_id", "item_id"}
-        )
+        ),
+        indexes = @Index(name = "idx_basket_item_item", columnList = "item_id")
 )
 @Getter
 @Setter
@@ -22,11 +23,11 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class BasketItem extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "basket_id", nullable = false)
     private Basket basket;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
@@ -35,7 +36,8 @@ public class BasketItem extends BaseEntity {
 
     // Helper methods
 
-    public void setBasket(Basket basket) {
+    // Package-private, Basket.addItem is the way in so that the basket's itemsCount follows
+    void setBasket(Basket basket) {
         if (this.basket != null) {
             this.basket.getBasketItems().remove(this);
         }
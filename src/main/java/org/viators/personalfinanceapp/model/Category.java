@@ -3,12 +3,32 @@ package org.viators.personalfinanceapp.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "categories")
+@Table(
+        name = "categories",
+        indexes = {
+                @Index(name = "idx_category_user_status_name", columnList = "user_id, status, category_name"),
+                @Index(name = "idx_category_user_name", columnList = "user_id, category_name, id")
+        }
+)
+@NamedEntityGraph(
+        name = Category.GRAPH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("items")
+        }
+)
+// READ_WRITE only keeps this node's copy in line with its own writes; a change made on another node shows
+// here once the entry expires, within the short TTL of the region (caffeine-jcache.conf)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
+@NaturalIdCache(region = Category.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,20 +37,29 @@ import java.util.List;
 @ToString(callSuper = true)
 public class Category extends BaseEntity {
 
+    // Fetch plans per use case, every association is LAZY by default
+    public static final String GRAPH_DETAILS = "Category.details";
+
+    public static final String CACHE_REGION = "category";
+    public static final String NATURAL_ID_CACHE_REGION = "category-natural-id";
+
     @Column(name = "category_name", nullable = false, length = 50)
     private String name;
 
     @Column(name = "description")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
     private User user;
 
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
+    @ToString.Exclude
     private List<Item> items = new ArrayList<>();
 
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
+    @ToString.Exclude
     private List<InflationReport> inflationReports = new ArrayList<>();
 
     public void addUser(User user) {
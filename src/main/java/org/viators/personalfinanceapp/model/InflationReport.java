@@ -11,13 +11,25 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "inflation_reports")
+@Table(
+        name = "inflation_reports",
+        indexes = {
+                @Index(name = "idx_inflation_report_user", columnList = "user_id, id"),
+                @Index(name = "idx_inflation_report_category", columnList = "category_id")
+        }
+)
+@NamedEntityGraph(
+        name = InflationReport.GRAPH_SUMMARY,
+        attributeNodes = @NamedAttributeNode("category")
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class InflationReport extends BaseEntity {
 
+    public static final String GRAPH_SUMMARY = "InflationReport.summary";
+
     @Enumerated(EnumType.STRING)
     @Column(name = "report_type", nullable = false)
     private ReportTypeEnum reportType;
@@ -40,11 +52,11 @@ public class InflationReport extends BaseEntity {
     @Column(name = "item_count")
     private Integer itemCount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 }
@@ -11,7 +11,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "items")
+@Table(
+        name = "items",
+        indexes = {
+                @Index(name = "idx_item_user", columnList = "user_id, id"),
+                @Index(name = "idx_item_category", columnList = "category_id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,11 +37,11 @@ public class Item extends BaseEntity {
     @Column(name = "brand")
     private String brand;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -11,13 +11,25 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "price_alerts")
+@Table(
+        name = "price_alerts",
+        indexes = {
+                @Index(name = "idx_price_alert_user", columnList = "user_id, id"),
+                @Index(name = "idx_price_alert_item", columnList = "item_id")
+        }
+)
+@NamedEntityGraph(
+        name = PriceAlert.GRAPH_SUMMARY,
+        attributeNodes = @NamedAttributeNode("item")
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class PriceAlert extends BaseEntity {
 
+    public static final String GRAPH_SUMMARY = "PriceAlert.summary";
+
     @Enumerated(EnumType.STRING)
     @Column(name = "alert_type", nullable = false)
     private AlertTypeEnum alertType;
@@ -31,11 +43,11 @@ public class PriceAlert extends BaseEntity {
     @Column(name = "last_triggered_at")
     private LocalDateTime lastTriggeredAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 }
@@ -10,7 +10,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "price_comparisons")
+@Table(
+        name = "price_comparisons",
+        indexes = {
+                @Index(name = "idx_price_comparison_user", columnList = "user_id"),
+                @Index(name = "idx_price_comparison_item", columnList = "item_id"),
+                @Index(name = "idx_price_comparison_best_store", columnList = "best_store_id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,15 +39,15 @@ public class PriceComparison extends BaseEntity {
     @Column(name = "price_spread")
     private BigDecimal priceSpread;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "best_store_id", nullable = false)
     private Store bestStore;
 }
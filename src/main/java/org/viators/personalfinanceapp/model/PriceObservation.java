@@ -11,7 +11,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "price_observations")
+@Table(
+        name = "price_observations",
+        indexes = {
+                @Index(name = "idx_price_observation_item_date", columnList = "item_id, observation_date"),
+                @Index(name = "idx_price_observation_store", columnList = "store_id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,11 +40,11 @@ public class PriceObservation extends BaseEntity {
     @Column(name = "notes", length = 800)
     private String notes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id", nullable = false)
     private Store store;
 }
@@ -0,0 +1,56 @@
+package org.viators.personalfinanceapp.model;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigrams behind the user search, stored in {@code user_search_grams} and looked up through its index.
+ * <p>
+ * As with pg_trgm, every value is lower-cased and padded with two spaces in front, so the grams at the start
+ * of a value ({@code "  j"}, {@code " jo"}) serve prefixes as short as one character, while the other grams
+ * serve infix terms of three characters or more. A value containing a term holds every trigram of the term,
+ * so the users holding all of them are a superset of the matches, and a much smaller one than the users
+ * holding any single gram, which for a gram like {@code "com"} can be most of them. Grams are made of code
+ * points, never of half a surrogate pair.
+ */
+public final class SearchGrams {
+
+    public static final int LENGTH = 3;
+    private static final String PADDING = "  ";
+
+    private SearchGrams() {
+    }
+
+    public static Set<String> of(String... values) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            addGrams(grams, (PADDING + value.toLowerCase(Locale.ROOT)).codePoints().toArray());
+        }
+        return grams;
+    }
+
+    /**
+     * The grams to look {@code term} up by, all of them since a matching user must hold every one; taken from
+     * the padded term when it must be a prefix. An infix term must be at least {@link #LENGTH} characters long.
+     */
+    public static Set<String> keysFor(String term, boolean prefix) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        int[] codePoints = (prefix ? PADDING + lower : lower).codePoints().toArray();
+        if (codePoints.length < LENGTH) {
+            throw new IllegalArgumentException("Search term too short for an infix search: " + term);
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        addGrams(keys, codePoints);
+        return keys;
+    }
+
+    private static void addGrams(Set<String> grams, int[] codePoints) {
+        for (int start = 0; start + LENGTH <= codePoints.length; start++) {
+            grams.add(new String(codePoints, start, LENGTH));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.viators.personalfinanceapp.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "shopping_lists")
+@Table(
+        name = "shopping_lists",
+        indexes = {
+                @Index(name = "idx_shopping_list_user", columnList = "user_id, id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,10 +40,49 @@ public class ShoppingList extends BaseEntity {
     @Column(name = "actual_total")
     private BigDecimal actualTotal;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @OneToMany(mappedBy = "shoppingList", fetch = FetchType.LAZY)
+    // Changed through addItem and removeItem only, which keep itemsCount in step
+    @Setter(AccessLevel.NONE)
+    @OneToMany(mappedBy = "shoppingList", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ShoppingListItem> shoppingListItems = new ArrayList<>();
+
+    /**
+     * Number of entries in {@link #shoppingListItems}, kept in step by {@link #addItem} and {@link #removeItem}
+     * so summaries can show it without loading the collection. Concurrent changes conflict on the version.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "items_count", nullable = false)
+    private int itemsCount;
+
+    // Helper methods
+    public ShoppingListItem addItem(Item item, Store store, BigDecimal quantity) {
+        if (item == null || store == null) {
+            throw new IllegalArgumentException("Item and store cannot be null");
+        }
+        if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        ShoppingListItem shoppingListItem = new ShoppingListItem();
+        shoppingListItem.setShoppingList(this);
+        shoppingListItem.setItem(item);
+        shoppingListItem.setStore(store);
+        shoppingListItem.setQuantity(quantity);
+        shoppingListItem.setIsPurchased(false);
+
+        shoppingListItems.add(shoppingListItem);
+        itemsCount++;
+        return shoppingListItem;
+    }
+
+    public void removeItem(ShoppingListItem shoppingListItem) {
+        if (shoppingListItem == null) return;
+
+        if (shoppingListItems.remove(shoppingListItem)) {
+            itemsCount--;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.viators.personalfinanceapp.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,7 +14,14 @@ import java.time.LocalDate;
  * Links items to shopping lists with quantity information.
  */
 @Entity
-@Table(name = "shopping_list_items")
+@Table(
+        name = "shopping_list_items",
+        indexes = {
+                @Index(name = "idx_shopping_list_item_list", columnList = "shopping_list_id"),
+                @Index(name = "idx_shopping_list_item_item", columnList = "item_id"),
+                @Index(name = "idx_shopping_list_item_store", columnList = "store")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,15 +40,17 @@ public class ShoppingListItem extends BaseEntity {
     @Column(name = "purchased_date")
     private LocalDate purchasedDate;
 
-    @ManyToOne
+    // Package-private, ShoppingList.addItem is the way in so that the list's itemsCount follows
+    @Setter(AccessLevel.PACKAGE)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shopping_list_id", nullable = false)
     private ShoppingList shoppingList;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store", nullable = false)
     private Store store;
 
@@ -5,24 +5,30 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalIdCache;
 import org.viators.personalfinanceapp.model.enums.StoreTypeEnum;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(
-        name = "stores",
-        indexes = @Index(
-                name = "idx_store_name", columnList = "store_name"
-        )
-)
+@Table(name = "stores")
+// Reference data read by every user: entities and uuid lookups come from the second-level cache.
+// READ_WRITE only keeps this node's copy in line with its own writes; other nodes see a change once their
+// entry expires (caffeine-jcache.conf)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Store.CACHE_REGION)
+@NaturalIdCache(region = Store.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Store extends BaseEntity {
 
+    public static final String CACHE_REGION = "store";
+    public static final String NATURAL_ID_CACHE_REGION = "store-natural-id";
+
     @Column(name = "store_name", nullable = false, unique = true)
     private String name;
 
@@ -0,0 +1,64 @@
+package org.viators.personalfinanceapp.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A revoked token (when {@code tokenId} is set) or a cutoff revoking every token issued to
+ * the user up to {@code revokedAt} (when it is not).
+ * <p>
+ * Unlike the business entities this does not extend {@link BaseEntity}: rows are written once,
+ * read by every node on each sync and deleted as soon as the tokens they cover expire,
+ * so the table is kept as narrow as possible. Timestamps are epoch milliseconds, the precision of the
+ * {@code iatMs} token claim.
+ */
+@Entity
+@Table(
+        name = "token_revocations",
+        indexes = {
+                @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_uuid", nullable = false, updatable = false, length = 36)
+    private String userUuid;
+
+    @Column(name = "token_id", updatable = false, length = 36)
+    private String tokenId;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private Long revokedAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Long expiresAt;
+
+    public static TokenRevocation forUser(String userUuid, long revokedAt, long expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserUuid(userUuid);
+        revocation.setRevokedAt(revokedAt);
+        revocation.setExpiresAt(expiresAt);
+        return revocation;
+    }
+
+    public static TokenRevocation forToken(String userUuid, String tokenId, long revokedAt, long expiresAt) {
+        TokenRevocation revocation = forUser(userUuid, revokedAt, expiresAt);
+        revocation.setTokenId(tokenId);
+        return revocation;
+    }
+
+    public boolean isUserWide() {
+        return tokenId == null;
+    }
+}
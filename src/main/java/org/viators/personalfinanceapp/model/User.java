@@ -3,22 +3,27 @@ package org.viators.personalfinanceapp.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.NaturalIdCache;
 import org.viators.personalfinanceapp.model.enums.StatusEnum;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(
         name = "users",
+        // Mirrors db/migration; email, username and uuid are covered by their unique constraints and the
+        // lower(...) expression and trigram indexes used by searchUsers only exist in the migrations
         indexes = {
-                @Index(name = "idx_user_email", columnList = "email", unique = true),
-                @Index(name = "idx_user_username", columnList = "username", unique = true),
-                @Index(name = "idx_user_lastName", columnList = "lastName", unique = true),
-                @Index(name = "idx_user_uuid", columnList = "uuid")
+                @Index(name = "idx_user_role_status", columnList = "user_role, status"),
+                @Index(name = "idx_user_created_at", columnList = "created_at")
         }
 )
+// Only the uuid -> id resolution is cached, the user itself is always read from the database
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @SuperBuilder
@@ -26,6 +31,8 @@ import java.util.List;
 @AllArgsConstructor
 public class User extends BaseEntity {
 
+    public static final String NATURAL_ID_CACHE_REGION = "user-natural-id";
+
     @Column(name = "username", nullable = false, unique = true, length = 50)
     private String username;
 
@@ -74,6 +81,11 @@ public class User extends BaseEntity {
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<Basket> baskets = new ArrayList<>();
 
+    // Index behind searchUsers, kept in line with the searchable fields by refreshSearchGrams()
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<UserSearchGram> searchGrams = new HashSet<>();
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -108,6 +120,16 @@ public class User extends BaseEntity {
         }
     }
 
+    /**
+     * Rewrites the search grams after username, email, first or last name changed; grams that still apply
+     * are kept, so an update only writes the difference.
+     */
+    public void refreshSearchGrams() {
+        Set<String> grams = SearchGrams.of(getUsername(), getEmail(), getFirstName(), getLastName());
+        searchGrams.removeIf(searchGram -> !grams.contains(searchGram.getGram()));
+        grams.forEach(gram -> searchGrams.add(new UserSearchGram(this, gram)));
+    }
+
     public String getFullName() {
         return this.firstName.concat(" ").concat(this.lastName);
     }
@@ -3,6 +3,8 @@ package org.viators.personalfinanceapp.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.viators.personalfinanceapp.model.enums.CurrencyEnum;
 import org.viators.personalfinanceapp.model.enums.LanguageEnum;
 
@@ -11,6 +13,10 @@ import java.util.Set;
 
 @Entity
 @Table(name = "user_preferences")
+@NamedEntityGraph(
+        name = UserPreferences.GRAPH_SUMMARY,
+        attributeNodes = @NamedAttributeNode("preferredStores")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +25,8 @@ import java.util.Set;
 @ToString
 public class UserPreferences extends BaseEntity {
 
+    public static final String GRAPH_SUMMARY = "UserPreferences.summary";
+
     @Enumerated(EnumType.STRING)
     @Column(name = "currency", nullable = false)
     private CurrencyEnum currency;
@@ -36,17 +44,23 @@ public class UserPreferences extends BaseEntity {
     @Column(name = "email_alerts", nullable = false)
     private Boolean emailAlerts;
 
-    @ManyToMany()
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_preferred_stores",
             joinColumns = @JoinColumn(name = "user_preference_id"),
-            inverseJoinColumns = @JoinColumn(name = "store_id")
+            inverseJoinColumns = @JoinColumn(name = "store_id"),
+            indexes = @Index(name = "idx_user_preferred_store_store", columnList = "store_id")
     )
+    // Caches the store ids only, the stores themselves come from the Store region. Per node, like every
+    // region: a change made on another node shows here once the entry expires
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-preferences-stores")
     @Builder.Default
+    @ToString.Exclude
     private Set<Store> preferredStores = new HashSet<>();
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
     private User user;
 
     // Overloaded constructor
@@ -0,0 +1,53 @@
+package org.viators.personalfinanceapp.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One trigram of a user's searchable fields (see {@link SearchGrams}). The index on {@code (gram, user_id)}
+ * turns a search into an index lookup of the candidate users instead of a scan of {@code users}.
+ * <p>
+ * Like {@link TokenRevocation} it does not extend {@link BaseEntity}: it is derived data, rewritten by
+ * {@link User#refreshSearchGrams()}, and kept as narrow as possible. Equality is the gram, which is unique
+ * within the grams of one user.
+ */
+@Entity
+@Table(
+        name = "user_search_grams",
+        indexes = @Index(name = "idx_user_search_gram", columnList = "gram, user_id")
+)
+@IdClass(UserSearchGram.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EqualsAndHashCode(of = "gram")
+public class UserSearchGram {
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // Three code points, up to six UTF-16 units
+    @Id
+    @Column(name = "gram", length = 6)
+    private String gram;
+
+    UserSearchGram(User user, String gram) {
+        this.user = user;
+        this.gram = gram;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long user;
+        private String gram;
+    }
+}
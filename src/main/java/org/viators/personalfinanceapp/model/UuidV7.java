@@ -0,0 +1,41 @@
+package org.viators.personalfinanceapp.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562): 48 bits of Unix epoch milliseconds followed by 74 random bits.
+ * <p>
+ * Ids created close in time sort next to each other, so inserts append to the right edge of the uuid
+ * index instead of landing on a random page. The random part comes from {@link SecureRandom}, so ids are
+ * still not guessable from one another.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        return fromTimestamp(System.currentTimeMillis());
+    }
+
+    static UUID fromTimestamp(long epochMillis) {
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long randA = ((random[0] & 0x0FL) << 8) | (random[1] & 0xFFL);
+        long mostSigBits = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16
+                | 0x7000L // version
+                | randA;
+
+        long leastSigBits = 0;
+        for (int i = 2; i < 10; i++) {
+            leastSigBits = (leastSigBits << 8) | (random[i] & 0xFFL);
+        }
+        leastSigBits = (leastSigBits & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L; // IETF variant
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
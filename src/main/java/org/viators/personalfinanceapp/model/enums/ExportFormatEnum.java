@@ -0,0 +1,17 @@
+package org.viators.personalfinanceapp.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ExportFormatEnum {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormatEnum(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+}
@@ -0,0 +1,6 @@
+package org.viators.personalfinanceapp.model.enums;
+
+public enum SearchModeEnum {
+    PREFIX,
+    CONTAINS
+}
@@ -0,0 +1,86 @@
+package org.viators.personalfinanceapp.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
+import org.viators.personalfinanceapp.exceptions.QueryBudgetExceededException;
+
+import java.util.Map;
+
+/**
+ * Opens {@link QueryScope}s for controller handler and service calls and checks them when they close: statements over
+ * the declared {@link QueryBudget} and statements repeated often enough to be an N+1 are logged and counted,
+ * or fail the call when {@code app.query-budget.fail-on-violation} is set.
+ */
+@Component
+@Slf4j
+public class QueryBudgetReporter {
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultRequestBudget;
+    private final int repeatedStatementThreshold;
+    private final boolean failOnViolation;
+
+    public QueryBudgetReporter(MeterRegistry meterRegistry,
+                               @Value("${app.query-budget.default-per-request:20}") int defaultRequestBudget,
+                               @Value("${app.query-budget.repeated-statement-threshold:5}") int repeatedStatementThreshold,
+                               @Value("${app.query-budget.fail-on-violation:false}") boolean failOnViolation) {
+        this.meterRegistry = meterRegistry;
+        this.defaultRequestBudget = defaultRequestBudget;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.failOnViolation = failOnViolation;
+    }
+
+    public QueryScope openRequest(String name, QueryBudget budget) {
+        return QueryCounter.open(name, budget != null ? budget.value() : defaultRequestBudget);
+    }
+
+    public QueryScope openCall(String name, QueryBudget budget) {
+        return QueryCounter.open(name, budget.value());
+    }
+
+    public void close(QueryScope scope) {
+        scope.close();
+
+        DistributionSummary.builder("db.statements")
+                .description("SQL statements sent per request or budgeted service call")
+                .tag("scope", scope.name())
+                .register(meterRegistry)
+                .record(scope.statements());
+
+        StringBuilder violations = new StringBuilder();
+        if (scope.isOverBudget()) {
+            violations.append("%d statements, budget is %d".formatted(scope.statements(), scope.budget()));
+            count("budget", scope);
+        }
+
+        Map<String, Integer> repeated = scope.repeatedStatements(repeatedStatementThreshold);
+        if (!repeated.isEmpty()) {
+            repeated.forEach((sql, count) -> violations
+                    .append(violations.isEmpty() ? "" : "; ")
+                    .append("possible N+1, %d executions of [%s]".formatted(count, sql)));
+            count("repeated", scope);
+        }
+
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Query budget of %s exceeded: %s".formatted(scope.name(), violations);
+        if (failOnViolation) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private void count(String reason, QueryScope scope) {
+        Counter.builder("db.statements.budget.exceeded")
+                .tag("scope", scope.name())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
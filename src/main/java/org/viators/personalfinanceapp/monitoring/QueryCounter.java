@@ -0,0 +1,50 @@
+package org.viators.personalfinanceapp.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hibernate statement inspector feeding every SQL statement prepared on the current thread into the
+ * {@link QueryScope}s open on it. Scopes nest (request, then service call), a statement counts for all of them.
+ * <p>
+ * Hibernate instantiates it from {@code hibernate.session_factory.statement_inspector}, so the state is static.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Deque<QueryScope>> SCOPES = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (QueryScope scope : scopes) {
+                scope.record(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static QueryScope open(String name, int budget) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        QueryScope scope = new QueryScope(name, budget);
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void close(QueryScope scope) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+}
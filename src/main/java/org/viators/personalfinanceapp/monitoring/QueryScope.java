@@ -0,0 +1,62 @@
+package org.viators.personalfinanceapp.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements sent on one thread between {@link QueryCounter#open} and {@link #close()}.
+ * Hibernate always binds values as parameters, so the SQL text is the shape of a statement: the same text
+ * sent many times in one scope is the signature of an N+1.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    private final String name;
+    private final int budget;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+
+    QueryScope(String name, int budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    void record(String sql) {
+        statements++;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+
+    /**
+     * Statements sent at least {@code threshold} times, with their count.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        QueryCounter.close(this);
+    }
+}
@@ -0,0 +1,109 @@
+package org.viators.personalfinanceapp.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.viators.personalfinanceapp.exceptions.InvalidCursorException;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Converts keyset scroll positions to the opaque cursors handed to clients and back.
+ * <p>
+ * A cursor holds the sort key values of the last row a client has seen, each tagged with its type so it is
+ * bound with the type of the property it is compared to. Decoding only accepts exactly the keys of the
+ * listing's sort, each with the type of its property, so a cursor from another listing or an edited one is
+ * rejected instead of reaching the query.
+ */
+public final class ScrollCursors {
+
+    // Same cap as spring.data.web.pageable.max-page-size
+    public static final int MAX_SIZE = 100;
+
+    private ScrollCursors() {
+    }
+
+    public static Limit limit(int size) {
+        return Limit.of(Math.clamp(size, 1, MAX_SIZE));
+    }
+
+    /**
+     * Sort key of a listing, with the type of the property it is compared to.
+     */
+    public record SortKey(String name, Class<?> type) {
+    }
+
+    public static SortKey key(String name, Class<?> type) {
+        return new SortKey(name, type);
+    }
+
+    public static ScrollPosition decode(String cursor, SortKey... sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String entry : text.split("&")) {
+                String[] keyAndValue = entry.split("=", 2);
+                String value = URLDecoder.decode(keyAndValue[1], StandardCharsets.UTF_8);
+                keys.put(URLDecoder.decode(keyAndValue[0], StandardCharsets.UTF_8), parse(value));
+            }
+            if (!List.copyOf(keys.keySet()).equals(Arrays.stream(sortKeys).map(SortKey::name).toList())) {
+                throw new InvalidCursorException("Cursor does not belong to this listing");
+            }
+            for (SortKey sortKey : sortKeys) {
+                if (!sortKey.type().isInstance(keys.get(sortKey.name()))) {
+                    throw new InvalidCursorException("Cursor does not belong to this listing");
+                }
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be turned into cursors");
+        }
+
+        StringJoiner text = new StringJoiner("&");
+        keyset.getKeys().forEach((key, value) -> text.add(
+                URLEncoder.encode(key, StandardCharsets.UTF_8) + "=" + URLEncoder.encode(format(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String format(Object value) {
+        return switch (value) {
+            case String s -> "s:" + s;
+            case Long l -> "l:" + l;
+            case Integer i -> "i:" + i;
+            case LocalDateTime t -> "t:" + t;
+            case null -> throw new IllegalArgumentException("Sort keys used for scrolling must not be null");
+            default -> throw new IllegalArgumentException("Unsupported sort key type " + value.getClass().getName());
+        };
+    }
+
+    private static Object parse(String value) {
+        String text = value.substring(2);
+        return switch (value.substring(0, 2)) {
+            case "s:" -> text;
+            case "l:" -> Long.valueOf(text);
+            case "i:" -> Integer.valueOf(text);
+            case "t:" -> LocalDateTime.parse(text);
+            default -> throw new IllegalArgumentException("Unknown sort key type");
+        };
+    }
+}
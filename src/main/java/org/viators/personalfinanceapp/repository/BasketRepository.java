@@ -1,5 +1,6 @@
 package org.viators.personalfinanceapp.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,13 +13,14 @@ import java.util.Optional;
 @Repository
 public interface BasketRepository extends JpaRepository<Basket, Long> {
 
-    List<Basket> findByUser(Long userId);
+    // Compare the user_id foreign key with the id, binding a Long to the User association does not work
+    List<Basket> findByUser_Id(Long userId);
 
-    List<Basket> findByUserAndName(Long userId, String name);
+    List<Basket> findByUser_IdAndName(Long userId, String name);
 
+    @EntityGraph(Basket.GRAPH_DETAILS)
     @Query("""
             select b from Basket b
-            left join fetch b.basketItems
             where b.id = :basketId
             """)
     Optional<Basket> findBasketWithItems(@Param("basketId") Long basketId);
@@ -0,0 +1,33 @@
+package org.viators.personalfinanceapp.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Base class of every repository (see {@code repositoryBaseClass} on the application class), providing
+ * the natural-id lookup of {@link NaturalIdRepository}. Repositories that do not extend that interface
+ * don't expose it and behave like plain {@link SimpleJpaRepository}s.
+ */
+public class NaturalIdJpaRepository<T> extends SimpleJpaRepository<T, Long> implements NaturalIdRepository<T> {
+
+    private final EntityManager entityManager;
+
+    public NaturalIdJpaRepository(JpaEntityInformation<T, Long> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<T> findByUuid(String uuid) {
+        if (uuid == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(getDomainClass())
+                .loadOptional(uuid);
+    }
+}
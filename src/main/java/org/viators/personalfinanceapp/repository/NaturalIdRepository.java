@@ -0,0 +1,20 @@
+package org.viators.personalfinanceapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Repository of an entity identified by the {@code @NaturalId} uuid of {@code BaseEntity}.
+ * <p>
+ * {@link #findByUuid(String)} is not a derived query: {@link NaturalIdJpaRepository} implements it with
+ * Hibernate's natural-id loading, which checks the persistence context and the natural-id cache before
+ * resolving the uuid with SQL, then loads the entity by id, from the second-level cache when the entity
+ * is cached.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T> extends JpaRepository<T, Long> {
+
+    Optional<T> findByUuid(String uuid);
+}
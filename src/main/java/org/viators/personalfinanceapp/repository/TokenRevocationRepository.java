@@ -0,0 +1,26 @@
+package org.viators.personalfinanceapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.viators.personalfinanceapp.model.TokenRevocation;
+
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Used on startup, everything that still covers a live token
+    List<TokenRevocation> findByExpiresAtGreaterThan(Long now);
+
+    // Used by the periodic sync, only what was revoked since the last run (plus an overlap window)
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(Long since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Long now);
+}
@@ -0,0 +1,110 @@
+package org.viators.personalfinanceapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.stereotype.Repository;
+import org.viators.personalfinanceapp.dto.basket.response.BasketSummaryResponse;
+import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.shoppinglist.response.ShoppingListSummaryResponse;
+import org.viators.personalfinanceapp.model.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries behind the user details page, one per section.
+ * <p>
+ * Fetch-joining every collection of the user in one statement returns the cartesian product of all of them
+ * (and Hibernate refuses to fetch more than one bag at once anyway). Here each section is read by its own
+ * query on the {@code user_id} foreign key, with the entity graph its summary needs and a row limit, so the
+ * sections are independent and can run on separate connections. Results are read-only, nothing is kept for
+ * dirty checking.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserDetailsRepository {
+
+    private final EntityManager entityManager;
+
+    public Optional<User> findUserWithPreferences(String uuid) {
+        return entityManager.createQuery("""
+                        select u from User u
+                        left join fetch u.userPreferences p
+                        left join fetch p.preferredStores
+                        where u.uuid = :uuid
+                        """, User.class)
+                .setParameter("uuid", uuid)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public List<Item> findItems(Long userId, int limit) {
+        return findByUser(Item.class, userId, null, limit);
+    }
+
+    public List<CategorySummaryResponse> findCategorySummaries(Long userId, int limit) {
+        return entityManager.createQuery("""
+                        select new org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse(
+                            c.name, c.description)
+                        from Category c
+                        where c.user.id = :userId
+                        order by c.id
+                        """, CategorySummaryResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<PriceAlert> findPriceAlerts(Long userId, int limit) {
+        return findByUser(PriceAlert.class, userId, PriceAlert.GRAPH_SUMMARY, limit);
+    }
+
+    public List<InflationReport> findInflationReports(Long userId, int limit) {
+        return findByUser(InflationReport.class, userId, InflationReport.GRAPH_SUMMARY, limit);
+    }
+
+    // Only the number of entries is shown, which the lists and baskets keep in a counter column
+    public List<ShoppingListSummaryResponse> findShoppingListSummaries(Long userId, int limit) {
+        return entityManager.createQuery("""
+                        select new org.viators.personalfinanceapp.dto.shoppinglist.response.ShoppingListSummaryResponse(
+                            s.name, s.description, s.itemsCount)
+                        from ShoppingList s
+                        where s.user.id = :userId
+                        order by s.id
+                        """, ShoppingListSummaryResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<BasketSummaryResponse> findBasketSummaries(Long userId, int limit) {
+        return entityManager.createQuery("""
+                        select new org.viators.personalfinanceapp.dto.basket.response.BasketSummaryResponse(
+                            b.name, b.description, b.itemsCount)
+                        from Basket b
+                        where b.user.id = :userId
+                        order by b.id
+                        """, BasketSummaryResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> List<T> findByUser(Class<T> entityType, Long userId, String graphName, int limit) {
+        TypedQuery<T> query = entityManager.createQuery(
+                        "select e from " + entityType.getSimpleName() + " e where e.user.id = :userId order by e.id",
+                        entityType)
+                .setParameter("userId", userId)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        if (graphName != null) {
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(graphName));
+        }
+        return query.getResultList();
+    }
+}
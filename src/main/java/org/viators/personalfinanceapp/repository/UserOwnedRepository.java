@@ -0,0 +1,37 @@
+package org.viators.personalfinanceapp.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Read paths shared by the repositories of entities that belong to a user.
+ * <p>
+ * The owner is given by id, resolved from the uuid beforehand (see {@code CurrentUserContext#userId}), so
+ * the queries filter on the {@code user_id} foreign key instead of joining {@code users} on its uuid.
+ * <p>
+ * The methods take the type to return. With a record whose components are named after entity properties,
+ * Spring Data selects straight into it with a constructor expression: nothing is hydrated, snapshotted for
+ * dirty checking or added to the persistence context, which is all a list endpoint showing a few columns
+ * needs. Passing the entity type still returns managed entities.
+ * <p>
+ * Besides offset pages there are count-free slices, and keyset windows whose cost does not grow with how far
+ * the client has scrolled: the position is a {@code where} on the sort key and id, served by an index that
+ * starts with {@code user_id} and continues with the sort key.
+ */
+@NoRepositoryBean
+public interface UserOwnedRepository<T> extends NaturalIdRepository<T> {
+
+    <P> Page<P> findByUser_Id(Long userId, Pageable pageable, Class<P> type);
+
+    // Fetches one row more than the page size to know whether there is a next slice, instead of counting
+    <P> Slice<P> findSliceByUser_Id(Long userId, Pageable pageable, Class<P> type);
+
+    // The sort keys are selected along with the record's components, the position is taken from them
+    <P> Window<P> findByUser_Id(Long userId, ScrollPosition position, Limit limit, Sort sort, Class<P> type);
+}
@@ -1,5 +1,6 @@
 package org.viators.personalfinanceapp.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.viators.personalfinanceapp.model.UserPreferences;
@@ -10,7 +11,8 @@ import java.util.Optional;
 public interface UserPreferencesRepository extends JpaRepository<UserPreferences, Long> {
 
     // The underscore (`_`), "traversal delimiter", explicitly tells Spring Data JPA to traverse into a nested entity.
-    // It's resolving this path: UserPreferences.user.uuid
-    Optional<UserPreferences> findByUser_Uuid(String uuid);
+    // It's resolving this path: UserPreferences.user.id, which is the user_id foreign key, so there is no join on users
+    @EntityGraph(UserPreferences.GRAPH_SUMMARY)
+    Optional<UserPreferences> findByUser_Id(Long userId);
 
 }
@@ -1,36 +1,85 @@
 package org.viators.personalfinanceapp.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.model.SearchGrams;
 import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends NaturalIdRepository<User> {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByUuid(String uuid);
-
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
 
     Optional<User> findByUuidAndStatus(String uuid, String status);
 
+    // Served by the unique index on uuid alone, see UserIdResolver
+    @Query("select u.id from User u where u.uuid = :uuid")
+    Optional<Long> findIdByUuid(@Param("uuid") String uuid);
+
     int countAllByUserRoleAndStatus(UserRolesEnum userRole, String status);
 
+    // findAll(Pageable) without the count query
+    Slice<User> findAllBy(Pageable pageable);
+
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Admin search over username, email, first and last name. The candidates come from the
+     * {@code user_search_grams} index: the users holding all {@code gramCount} {@code grams} of the term
+     * ({@link SearchGrams#keysFor}), the same on every database; {@code pattern}, a lower case like pattern escaped with {@code !}, then keeps the
+     * actual matches among them. No count query, counting the matches of a short pattern would cost more
+     * than finding a page of them.
+     */
     @Query("""
             select u from User u
-            where lower(u.lastName) = lower(concat('%', :lastName, '%'))
+            where u.id in (select g.user.id from UserSearchGram g where g.gram in :grams
+                           group by g.user.id having count(*) = :gramCount)
+            and (lower(u.username) like :pattern escape '!'
+            or lower(u.email) like :pattern escape '!'
+            or lower(u.firstName) like :pattern escape '!'
+            or lower(u.lastName) like :pattern escape '!')
+            """)
+    Slice<User> searchUsers(@Param("grams") Set<String> grams, @Param("gramCount") long gramCount,
+                            @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Every user in id order, for the export. Rows are read through a forward-only cursor 500 at a time and
+     * go straight into the DTO, so neither the result set nor the persistence context grows with the table.
+     * The stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse(
+                u.uuid, u.username, concat(u.firstName, ' ', u.lastName), u.email, u.status)
+            from User u
+            order by u.id
             """)
-    List<User> searchUserByLastName(@Param("lastName") String lastName);
+    Stream<UserSummaryResponse> streamAllSummaries();
 
     @Query("""
             select u from User u
@@ -40,17 +89,4 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("dateFrom") LocalDateTime dateFrom,
             @Param("dateTo") LocalDateTime dateTo
     );
-
-    @Query("""
-            select u from User u
-            left join fetch u.inflationReports
-            left join fetch u.baskets
-            left join fetch u.categories
-            left join fetch u.items
-            left join fetch u.priceAlerts
-            left join fetch u.shoppingLists
-            left join fetch u.priceComparisons
-            left join fetch u.userPreferences
-            where u.uuid = :uuid""")
-    Optional<User> findUserByUuidWithAllRelationships(@Param("uuid") String uuid);
-}
\ No newline at end of file
+}
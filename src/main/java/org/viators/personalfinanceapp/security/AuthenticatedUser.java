@@ -0,0 +1,59 @@
+package org.viators.personalfinanceapp.security;
+
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+
+/**
+ * Lean, immutable snapshot of the authenticated user.
+ * <p>
+ * Unlike the {@link User} entity it holds no Hibernate state, so it is safe to share across
+ * threads and can be built straight from the token claims without touching the database.
+ * {@code password} is only present when the snapshot was loaded from the database.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String uuid,
+        String email,
+        String username,
+        UserRolesEnum userRole,
+        String status,
+        String password
+) {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUuid(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getUserRole(),
+                user.getStatus(),
+                user.getPassword()
+        );
+    }
+
+    /**
+     * Tokens are only issued to active users and revoked on deactivation,
+     * so a verified, non-revoked token always belongs to an active user.
+     */
+    public static AuthenticatedUser from(VerifiedClaims claims) {
+        return new AuthenticatedUser(
+                claims.userId(),
+                claims.userUuid(),
+                claims.email(),
+                claims.username(),
+                claims.role() != null ? UserRolesEnum.valueOf(claims.role()) : UserRolesEnum.USER,
+                StatusEnum.ACTIVE.getCode(),
+                null
+        );
+    }
+
+    public boolean isAdmin() {
+        return UserRolesEnum.ADMIN.equals(userRole);
+    }
+
+    public boolean isActive() {
+        return StatusEnum.ACTIVE.getCode().equals(status);
+    }
+}
@@ -0,0 +1,106 @@
+package org.viators.personalfinanceapp.security;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.repository.UserRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Request-scoped identity map for users, so a request loads a given user at most once.
+ * <p>
+ * For the authenticated caller, whose id travels in the token, {@link #getUserReference(String)} returns
+ * a {@code getReference} proxy and costs no query at all; that is enough to set a foreign key.
+ * Any other user is loaded once through {@link #findActiveUser(String)} and reused for the rest of the request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final UserIdResolver userIdResolver;
+
+    private final Map<String, User> loadedUsers = new HashMap<>();
+
+    public Optional<AuthenticatedUser> authenticatedUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof UserDetailsImpl principal)) {
+            return Optional.empty();
+        }
+        return Optional.of(principal.currentUser());
+    }
+
+    /**
+     * Database id of the user when {@code userUuid} is the authenticated caller, known without a query.
+     */
+    public Optional<Long> callerId(String userUuid) {
+        return authenticatedUser()
+                .filter(user -> user.uuid().equals(userUuid) && user.id() != null)
+                .map(AuthenticatedUser::id);
+    }
+
+    /**
+     * Database id of any user, active or not, for filtering on {@code user_id}.
+     * No query for the caller or a uuid already resolved by this process, one id-only lookup otherwise.
+     */
+    public Optional<Long> userId(String userUuid) {
+        return callerId(userUuid).or(() -> userIdResolver.resolve(userUuid));
+    }
+
+    /**
+     * Reference to the user that can be used as an association without being loaded.
+     * Zero queries when {@code userUuid} is the authenticated caller, at most one otherwise.
+     */
+    public Optional<User> getUserReference(String userUuid) {
+        User loaded = managedUser(userUuid);
+        if (loaded != null) {
+            return loaded.isActive() ? Optional.of(loaded) : Optional.empty();
+        }
+
+        Optional<Long> callerId = callerId(userUuid);
+        if (callerId.isPresent()) {
+            // Tokens of deactivated users are revoked, so the caller is active
+            return Optional.of(entityManager.getReference(User.class, callerId.get()));
+        }
+
+        return findActiveUser(userUuid);
+    }
+
+    /**
+     * Managed, fully loaded active user; the query runs at most once per request and uuid.
+     */
+    public Optional<User> findActiveUser(String userUuid) {
+        User loaded = managedUser(userUuid);
+        if (loaded == null) {
+            loaded = userRepository.findByUuidAndStatus(userUuid, StatusEnum.ACTIVE.getCode()).orElse(null);
+            if (loaded == null) {
+                return Optional.empty();
+            }
+            loadedUsers.put(userUuid, loaded);
+        }
+
+        // The user may have been deactivated earlier in this same request
+        return loaded.isActive() ? Optional.of(loaded) : Optional.empty();
+    }
+
+    // Only reuse entities still attached to the current persistence context (open-in-view keeps it for the request)
+    private User managedUser(String userUuid) {
+        User loaded = loadedUsers.get(userUuid);
+        if (loaded != null && !entityManager.contains(loaded)) {
+            loadedUsers.remove(userUuid);
+            return null;
+        }
+        return loaded;
+    }
+}
@@ -2,6 +2,7 @@ package org.viators.personalfinanceapp.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.Getter;
@@ -15,99 +16,127 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     @Getter
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+
+    // Key and parser are immutable and thread-safe, so they are built once instead of per token
+    private final SecretKey signedKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize) {
+        this.expiration = expiration;
+        this.signedKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signedKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxSize);
+    }
 
     /**
      * .claims(claims) → Adds your custom data
+     * .id(...) → Unique token id (jti), lets a single token be revoked
      * .subject(user.getEmail()) → The "subject" is the primary identifier (email here)
-     * .issuedAt(new Date()) → Timestamp when token was created
+     * .issuedAt(...) → Timestamp when token was created; iat only has second precision, so the
+     *   millisecond is also carried in the iatMs claim for revocation cutoffs
      * .expiration(...) → When the token expires
-     * .signWith(getSignedKey()) → Signs the token so it can't be tampered with
+     * .signWith(signedKey) → Signs the token so it can't be tampered with
      * .compact() → Converts to the final JWT string format
      */
     public String generateToken(User user) {
+        return generateToken(AuthenticatedUser.from(user));
+    }
+
+    public String generateToken(AuthenticatedUser user) {
         // claims are the "payload" of JWT - the actual data you want to carry in the token
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userUuid", user.getUuid());
-        claims.put("username", user.getUsername());
-        claims.put("role", user.getUserRole());
+        claims.put("userId", user.id());
+        claims.put("userUuid", user.uuid());
+        claims.put("username", user.username());
+        claims.put("role", user.userRole().name());
+
+        long now = System.currentTimeMillis();
+        claims.put(VerifiedClaims.ISSUED_AT_MS_CLAIM, now);
 
         return Jwts.builder()
                 .claims(claims)
-                .subject(user.getEmail())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignedKey())
+                .id(UUID.randomUUID().toString())
+                .subject(user.email())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signedKey)
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token exactly once.
+     * <p>
+     * Tokens verified recently are answered from an expiry-aware cache keyed by the token digest,
+     * so hot clients skip the signature check entirely. An empty result means the token is
+     * malformed, tampered with or expired.
+     */
+    public Optional<VerifiedClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        VerifiedClaims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            VerifiedClaims claims = VerifiedClaims.from(extractAllClaims(token));
+            verifiedTokenCache.put(token, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Extracts email (subject) from token.
      */
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).map(VerifiedClaims::email).orElse(null);
     }
 
     public String extractUserUuid(String token) {
-        return extractAllClaims(token).get("userUuid", String.class);
+        return verify(token).map(VerifiedClaims::userUuid).orElse(null);
     }
 
     /**
      * Validates token (not expired, valid signature).
      */
     public boolean isTokenValid(String token) {
-        try {
-            extractAllClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     /**
      * Checks if token is expired.
      */
     public boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractAllClaims(token).getExpiration();
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            return true;
-        }
+        return verify(token).isEmpty();
     }
 
     /**
-        - Creates a JWT parser
-        - Tells it to verify using your secret key
-        - Builds the parser
+        - Uses the parser built once at startup with your secret key
         - Parses the token (this validates signature AND checks expiration)
         - Gets the payload (all the claims)
     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignedKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    /**
-        - Converts your string secret into a proper cryptographic key
-        - Uses UTF-8 encoding to ensure consistency
-        - HMAC-SHA is the signing algorithm
-     */
-    private SecretKey getSignedKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-    }
 }
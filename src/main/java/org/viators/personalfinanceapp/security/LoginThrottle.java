@@ -0,0 +1,101 @@
+package org.viators.personalfinanceapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.viators.personalfinanceapp.exceptions.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brute-force protection for the login endpoint: one token bucket per email and one per client IP.
+ * <p>
+ * It is checked before the user lookup and the password hashing, so an abusive client costs a cache lookup
+ * and a CAS instead of a query and a BCrypt compare. Each key type has its own bounded Caffeine cache: a
+ * bucket left alone long enough to refill completely expires (a missing bucket behaves like a full one),
+ * and once {@code max-tracked-keys} is reached the size policy evicts rarely used keys. Spraying random
+ * emails therefore only costs the attacker's own keys, every other key keeps its own bucket.
+ * <p>
+ * The client address is {@code getRemoteAddr()}, which the container resolves from {@code X-Forwarded-For}
+ * when the request comes through a trusted proxy ({@code server.forward-headers-strategy}).
+ * <p>
+ * Metrics: {@code auth.login.throttled} and {@code auth.login.throttle.tracked}, both tagged by key type.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final Buckets emailBuckets;
+    private final Buckets ipBuckets;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${app.login-throttle.email.refill-per-minute:5}") int emailRefillPerMinute,
+                         @Value("${app.login-throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.login-throttle.ip.refill-per-minute:20}") int ipRefillPerMinute,
+                         @Value("${app.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.emailBuckets = new Buckets("email", emailCapacity, emailRefillPerMinute, maxTrackedKeys, meterRegistry);
+        this.ipBuckets = new Buckets("ip", ipCapacity, ipRefillPerMinute, maxTrackedKeys, meterRegistry);
+    }
+
+    /**
+     * Consumes one attempt for the email and one for the client address.
+     *
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.nanoTime();
+
+        if (clientIp != null && !ipBuckets.tryConsume(clientIp, now)) {
+            log.warn("Login throttled for ip: {}", clientIp);
+            throw new TooManyRequestsException("Too many login attempts, please retry later");
+        }
+        if (email != null && !emailBuckets.tryConsume(email.trim().toLowerCase(Locale.ROOT), now)) {
+            log.warn("Login throttled for email: {}", email);
+            throw new TooManyRequestsException("Too many login attempts, please retry later");
+        }
+    }
+
+    private static final class Buckets {
+
+        private final Cache<String, TokenBucket> buckets;
+        private final double capacity;
+        private final double refillPerNano;
+        private final Counter throttled;
+
+        Buckets(String keyType, int capacity, int refillPerMinute, int maxTrackedKeys, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.refillPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxTrackedKeys)
+                    // Untouched for this long, the bucket is full again and can be forgotten
+                    .expireAfterAccess(Duration.ofNanos((long) Math.ceil(capacity / refillPerNano)))
+                    // Evictions run on the calling thread, the cache never lags behind its bound
+                    .executor(Runnable::run)
+                    .build();
+            this.throttled = Counter.builder("auth.login.throttled")
+                    .tag("key", keyType)
+                    .register(meterRegistry);
+            Gauge.builder("auth.login.throttle.tracked", buckets, Cache::estimatedSize)
+                    .tag("key", keyType)
+                    .register(meterRegistry);
+        }
+
+        boolean tryConsume(String key, long now) {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerNano, now));
+
+            boolean allowed = bucket.tryConsume(now);
+            if (!allowed) {
+                throttled.increment();
+            }
+            return allowed;
+        }
+    }
+}
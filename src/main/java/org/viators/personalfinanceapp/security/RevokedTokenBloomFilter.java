@@ -0,0 +1,84 @@
+package org.viators.personalfinanceapp.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over revoked token ids (jti).
+ * <p>
+ * A negative answer is definitive, so a non-revoked token is cleared with a handful of array reads.
+ * A positive answer only means "maybe" and has to be confirmed against the exact set.
+ * Entries cannot be removed; the owner rebuilds the filter once revoked tokens expire.
+ */
+final class RevokedTokenBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashFunctions;
+
+    RevokedTokenBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int expected = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, optimalBits));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    void put(String tokenId) {
+        long[] hashes = hashes(tokenId);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = bitIndex(hashes, i);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) break;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String tokenId) {
+        long[] hashes = hashes(tokenId);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = bitIndex(hashes, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: h(i) = h1 + i * h2
+    private int bitIndex(long[] hashes, int i) {
+        long combined = hashes[0] + i * hashes[1];
+        return (int) ((combined & Long.MAX_VALUE) % bitCount);
+    }
+
+    /**
+     * Token ids are random UUIDs, so their two halves are already well distributed;
+     * they only get mixed to avoid correlated bits. Anything else falls back to the string hash.
+     */
+    private static long[] hashes(String tokenId) {
+        long high;
+        long low;
+        try {
+            UUID uuid = UUID.fromString(tokenId);
+            high = uuid.getMostSignificantBits();
+            low = uuid.getLeastSignificantBits();
+        } catch (IllegalArgumentException e) {
+            high = tokenId.hashCode();
+            low = (long) tokenId.length() << 32 ^ high;
+        }
+        return new long[]{mix(high ^ low), mix(low) | 1L};
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+package org.viators.personalfinanceapp.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the state is an immutable snapshot swapped with CAS,
+ * so concurrent attempts on the same key never block each other.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(double capacity, double refillPerNano, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerNano;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    boolean tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double available = refilled(current, nowNanos);
+            if (available < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - 1, nowNanos))) {
+                return true;
+            }
+        }
+    }
+
+    private double refilled(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.updatedAt());
+        return Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
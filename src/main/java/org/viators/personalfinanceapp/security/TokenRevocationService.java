@@ -0,0 +1,187 @@
+package org.viators.personalfinanceapp.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.viators.personalfinanceapp.events.UserChangedEvent;
+import org.viators.personalfinanceapp.model.TokenRevocation;
+import org.viators.personalfinanceapp.repository.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of issued tokens, either one token (by its {@code jti}) or every token issued to a user
+ * up to a cutoff.
+ * <p>
+ * The check runs on every authenticated request, so it is answered from memory only and never touches
+ * the database: a per-user cutoff map and a Bloom filter in front of the exact set of revoked token ids.
+ * Revocations are persisted in {@code token_revocations} and every node pulls the recent ones on a fixed
+ * delay, so several nodes converge within one sync interval. Timestamps are kept in epoch milliseconds and
+ * compared with the {@code iatMs} claim, so a token issued right after a "revoke all" (the login that follows
+ * a password change) is not caught by a cutoff in the same second.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final long tokenLifetimeMs;
+    private final long syncOverlapMs;
+    private final int bloomExpectedInsertions;
+    private final double bloomFalsePositiveRate;
+
+    // userUuid -> every token issued at or before this epoch millisecond is revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    // jti -> expiration of the revoked token, the exact set behind the Bloom filter
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile RevokedTokenBloomFilter bloomFilter;
+    private volatile long lastSyncedAt;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  @Value("${jwt.expiration}") Long expiration,
+                                  @Value("${app.token-revocation.sync-interval-ms:10000}") long syncIntervalMs,
+                                  @Value("${app.token-revocation.bloom.expected-insertions:100000}") int bloomExpectedInsertions,
+                                  @Value("${app.token-revocation.bloom.false-positive-rate:0.01}") double bloomFalsePositiveRate) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenLifetimeMs = expiration;
+        // Re-read a few intervals back so rows committed late by another node are not missed
+        this.syncOverlapMs = Math.max(1000, 3 * syncIntervalMs);
+        this.bloomExpectedInsertions = bloomExpectedInsertions;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.bloomFilter = new RevokedTokenBloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+    }
+
+    /**
+     * Hot path, memory only.
+     */
+    public boolean isRevoked(VerifiedClaims claims) {
+        Long cutoff = revokedBefore.get(claims.userUuid());
+        // A token issued in the same millisecond as the revocation is rejected as well: safer than the opposite
+        if (cutoff != null && (claims.issuedAt() == null || claims.issuedAt().toEpochMilli() <= cutoff)) {
+            return true;
+        }
+
+        String tokenId = claims.tokenId();
+        return tokenId != null
+                && bloomFilter.mightContain(tokenId)
+                && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes every token issued to the user so far. Joins the caller's transaction, if any,
+     * and only becomes visible in memory once it commits.
+     */
+    @Transactional
+    public void revokeAllTokens(String userUuid) {
+        long now = Instant.now().toEpochMilli();
+        TokenRevocation revocation = tokenRevocationRepository.save(
+                TokenRevocation.forUser(userUuid, now, now + tokenLifetimeMs));
+
+        afterCommit(() -> apply(revocation));
+        log.info("Revoked all tokens issued to user: {}", userUuid);
+    }
+
+    /**
+     * Revokes a single token, e.g. on logout.
+     */
+    @Transactional
+    public void revokeToken(VerifiedClaims claims) {
+        if (claims.tokenId() == null) {
+            // Tokens minted before jti was introduced can only be revoked all together
+            revokeAllTokens(claims.userUuid());
+            return;
+        }
+
+        long now = Instant.now().toEpochMilli();
+        long expiresAt = claims.expiresAt() != null ? claims.expiresAt().toEpochMilli() : now + tokenLifetimeMs;
+        TokenRevocation revocation = tokenRevocationRepository.save(
+                TokenRevocation.forToken(claims.userUuid(), claims.tokenId(), now, expiresAt));
+
+        afterCommit(() -> apply(revocation));
+    }
+
+    /**
+     * Runs inside the publisher's transaction: if the user change rolls back, so does the revocation.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.revokesTokens()) {
+            revokeAllTokens(event.userUuid());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        long now = Instant.now().toEpochMilli();
+        List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtGreaterThan(now);
+        active.forEach(this::apply);
+        lastSyncedAt = now;
+
+        log.info("Loaded {} active token revocations", active.size());
+    }
+
+    /**
+     * Pulls what other nodes revoked since the last run and drops what has expired.
+     */
+    @Scheduled(fixedDelayString = "${app.token-revocation.sync-interval-ms:10000}",
+            initialDelayString = "${app.token-revocation.sync-interval-ms:10000}")
+    public void sync() {
+        long now = Instant.now().toEpochMilli();
+        try {
+            tokenRevocationRepository.findByRevokedAtGreaterThanEqual(lastSyncedAt - syncOverlapMs)
+                    .forEach(this::apply);
+            lastSyncedAt = now;
+
+            purgeExpired(now);
+            tokenRevocationRepository.deleteExpired(now);
+        } catch (RuntimeException e) {
+            // Keep serving from memory, the next run will catch up from lastSyncedAt
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void apply(TokenRevocation revocation) {
+        if (revocation.isUserWide()) {
+            revokedBefore.merge(revocation.getUserUuid(), revocation.getRevokedAt(), Math::max);
+        } else if (revokedTokens.putIfAbsent(revocation.getTokenId(), revocation.getExpiresAt()) == null) {
+            bloomFilter.put(revocation.getTokenId());
+        }
+    }
+
+    private void purgeExpired(long now) {
+        // Once every token issued before the cutoff has expired on its own, the entry is no longer needed
+        revokedBefore.values().removeIf(cutoff -> cutoff + tokenLifetimeMs < now);
+
+        if (revokedTokens.values().removeIf(expiresAt -> expiresAt < now)) {
+            // Bloom filters cannot forget, so it is rebuilt from the remaining exact set
+            RevokedTokenBloomFilter rebuilt = new RevokedTokenBloomFilter(
+                    Math.max(bloomExpectedInsertions, revokedTokens.size()), bloomFalsePositiveRate);
+            revokedTokens.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+            // Revocations applied while rebuilding are re-added, put is idempotent
+            revokedTokens.keySet().forEach(bloomFilter::put);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
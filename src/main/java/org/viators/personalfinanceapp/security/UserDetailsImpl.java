@@ -5,29 +5,28 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import org.springframework.security.core.userdetails.UserDetails;
-import org.viators.personalfinanceapp.model.User;
 
 import java.util.Collection;
 import java.util.List;
 
 /**
- * Adapter for User entity
+ * Adapter for the {@link AuthenticatedUser} snapshot
  */
-public record UserDetailsImpl(User currentUser) implements UserDetails {
+public record UserDetailsImpl(AuthenticatedUser currentUser) implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + currentUser.getUserRole()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + currentUser.userRole()));
     }
 
     @Override
     public @Nullable String getPassword() {
-        return currentUser.getPassword();
+        return currentUser.password();
     }
 
     @Override
     public String getUsername() {
-        return currentUser.getUuid();
+        return currentUser.uuid();
     }
 
     @Override
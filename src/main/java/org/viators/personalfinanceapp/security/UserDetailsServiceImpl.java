@@ -1,24 +1,75 @@
 package org.viators.personalfinanceapp.security;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.viators.personalfinanceapp.model.User;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.viators.personalfinanceapp.events.UserChangedEvent;
 import org.viators.personalfinanceapp.repository.UserRepository;
 
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Loads users by email for authentication, backed by a bounded cache (size + TTL, W-TinyLFU eviction).
+ * Login does not go through it: it reads the user from the database, so a token is never issued from a
+ * snapshot that missed a deactivation or role change made on another node.
+ * <p>
+ * The cache holds {@link AuthenticatedUser} snapshots, never the entity, so entries are immutable,
+ * safe across threads and don't keep Hibernate state alive. Entries are invalidated as soon as a
+ * {@link UserChangedEvent} commits, including a rehash of the password, so a cached hash is never
+ * older than the last local write; the TTL only bounds staleness for changes made by other nodes.
+ * Hit/miss/eviction metrics are published as {@code cache.*{cache=authenticated-users}}.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> usersByEmail;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.user-details-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.user-details-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "authenticated-users");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        return findByEmail(email)
+                .map(UserDetailsImpl::new)
                 .orElseThrow(() -> new UsernameNotFoundException("Invalid credentials"));
+    }
+
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email, this::loadSnapshot));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        usersByEmail.invalidate(event.email());
+        if (event.previousEmail() != null) {
+            usersByEmail.invalidate(event.previousEmail());
+        }
+    }
 
-        return new UserDetailsImpl(user);
+    // Returning null leaves unknown emails uncached
+    private AuthenticatedUser loadSnapshot(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package org.viators.personalfinanceapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.viators.personalfinanceapp.repository.UserRepository;
+
+import java.util.Optional;
+
+/**
+ * Process-wide uuid to id map for users, so queries on user-owned rows can filter on the {@code user_id}
+ * foreign key instead of joining {@code users} on its uuid column.
+ * <p>
+ * A uuid is assigned once and never changes, and users are deactivated rather than deleted, so entries
+ * never go stale and need neither a TTL nor invalidation; the size bound only caps memory. Unknown uuids
+ * are not cached. Hit/miss metrics are published as {@code cache.*{cache=user-ids}}.
+ */
+@Component
+public class UserIdResolver {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> idsByUuid;
+
+    public UserIdResolver(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.user-id-cache.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.idsByUuid = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUuid, "user-ids");
+    }
+
+    public Optional<Long> resolve(String userUuid) {
+        if (userUuid == null) {
+            return Optional.empty();
+        }
+        // Returning null leaves unknown uuids uncached
+        return Optional.ofNullable(idsByUuid.get(userUuid, uuid -> userRepository.findIdByUuid(uuid).orElse(null)));
+    }
+}
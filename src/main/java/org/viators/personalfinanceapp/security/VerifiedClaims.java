@@ -0,0 +1,50 @@
+package org.viators.personalfinanceapp.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ * <p>
+ * Built once per token by {@link JwtUtil#verify(String)} so the filter never has to parse
+ * the same token twice.
+ */
+public record VerifiedClaims(
+        String tokenId,
+        String email,
+        Long userId,
+        String userUuid,
+        String username,
+        String role,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    // Millisecond issue time, the standard iat claim is whole seconds
+    public static final String ISSUED_AT_MS_CLAIM = "iatMs";
+
+    public static VerifiedClaims from(Claims claims) {
+        // Small numbers are deserialized as Integer, so read it as a Number
+        Number userId = claims.get("userId", Number.class);
+        Number issuedAtMs = claims.get(ISSUED_AT_MS_CLAIM, Number.class);
+        Instant issuedAt = issuedAtMs != null
+                ? Instant.ofEpochMilli(issuedAtMs.longValue())
+                : claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+
+        return new VerifiedClaims(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get("userUuid", String.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                issuedAt,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
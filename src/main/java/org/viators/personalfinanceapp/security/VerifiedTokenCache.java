@@ -0,0 +1,87 @@
+package org.viators.personalfinanceapp.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, expiry-aware cache of tokens whose signature has already been verified.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so the raw bearer string is never kept in memory.
+ * An entry is dropped as soon as the token it belongs to expires.
+ */
+final class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<TokenDigest, VerifiedClaims> entries;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize / 4));
+    }
+
+    VerifiedClaims get(String token) {
+        if (maxSize <= 0) return null;
+
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedClaims claims = entries.get(digest);
+        if (claims == null) return null;
+
+        if (claims.isExpired(Instant.now())) {
+            entries.remove(digest, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String token, VerifiedClaims claims) {
+        if (maxSize <= 0) return;
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(TokenDigest.of(token), claims);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, drops arbitrary entries until
+     * it is back to 90% of its capacity so that the next puts don't pay for another sweep.
+     */
+    private void evict() {
+        Instant now = Instant.now();
+        entries.values().removeIf(claims -> claims.isExpired(now));
+
+        int target = (int) (maxSize * 0.9);
+        Iterator<TokenDigest> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record TokenDigest(long first, long second, long third, long fourth) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer hash = ByteBuffer.wrap(sha256(token));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+
+        private static byte[] sha256(String token) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                // Every JRE is required to ship SHA-256
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -8,7 +8,9 @@ import org.viators.personalfinanceapp.dto.user.request.LoginUserRequest;
 import org.viators.personalfinanceapp.dto.user.response.UserAuthResponse;
 import org.viators.personalfinanceapp.exceptions.InvalidCredentialsException;
 import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.security.AuthenticatedUser;
 import org.viators.personalfinanceapp.security.JwtUtil;
+import org.viators.personalfinanceapp.security.TokenRevocationService;
 
 @Service
 @RequiredArgsConstructor
@@ -18,16 +20,21 @@ public class AuthService {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     public UserAuthResponse login(LoginUserRequest request) {
 
-        User userToAuthenticate = userService.findUserByEmail(request.email());
+        // Read from the database, not the user details cache: status and role go into the token, and a snapshot
+        // cached before another node deactivated or demoted the user would outlive that change by the token's lifetime
+        User user = userService.findUserByEmail(request.email());
 
-        if (userToAuthenticate == null) {
+        if (user == null) {
             throw new InvalidCredentialsException("No user found with this email");
         }
 
-        if (!passwordEncoder.matches(request.password(), userToAuthenticate.getPassword())) {
+        AuthenticatedUser userToAuthenticate = AuthenticatedUser.from(user);
+
+        if (!passwordEncoder.matches(request.password(), userToAuthenticate.password())) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -35,10 +42,25 @@ public class AuthService {
             throw new InvalidCredentialsException("User is deactivated");
         }
 
+        // The raw password is only available here, so this is where hashes made with an older cost factor get upgraded
+        if (passwordEncoder.upgradeEncoding(userToAuthenticate.password())) {
+            userService.upgradePasswordHash(userToAuthenticate.uuid(), request.password());
+        }
+
         String token = jwtUtil.generateToken(userToAuthenticate);
 
-        log.info("Login successful for user: {}", userToAuthenticate.getId());
+        log.info("Login successful for user: {}", userToAuthenticate.id());
 
         return UserAuthResponse.of(token, userToAuthenticate, jwtUtil.getExpiration());
     }
+
+    /**
+     * Revokes the presented token only, other sessions of the user stay valid.
+     */
+    public void logout(String token) {
+        jwtUtil.verify(token).ifPresent(claims -> {
+            tokenRevocationService.revokeToken(claims);
+            log.info("Logout successful for user: {}", claims.userUuid());
+        });
+    }
 }
@@ -4,19 +4,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
 import org.viators.personalfinanceapp.dto.category.request.CreateCategoryRequest;
 import org.viators.personalfinanceapp.dto.category.request.UpdateCategoryRequest;
 import org.viators.personalfinanceapp.dto.category.response.CategoryDetailsResponse;
 import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.common.response.CursorPageResponse;
 import org.viators.personalfinanceapp.exceptions.DuplicateResourceException;
 import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
 import org.viators.personalfinanceapp.model.Category;
 import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.pagination.ScrollCursors;
 import org.viators.personalfinanceapp.repository.CategoryRepository;
-import org.viators.personalfinanceapp.repository.UserRepository;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -24,43 +33,82 @@ import org.viators.personalfinanceapp.repository.UserRepository;
 @Transactional(readOnly = true)
 public class CategoryService {
 
+    private static final Sort SCROLL_SORT = Sort.by("name", "id");
+
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
 
+    // Category, user and items come from one query, plus the user's eager preferences
+    @QueryBudget(2)
     public CategoryDetailsResponse getCategoryWithDetails(String userUuid, String categoryUuid) {
-        Category result = categoryRepository.findCategoryWithRelationships(userUuid, categoryUuid)
+        Category result = currentUserContext.userId(userUuid)
+                .flatMap(userId -> categoryRepository.findCategoryWithRelationships(userId, categoryUuid))
                 .orElseThrow(() -> new ResourceNotFoundException("No category found for this currentUser with that name"));
 
         return CategoryDetailsResponse.from(result);
     }
 
     /**
-     * Gets paginated items for a user.
+     * Gets paginated categories for a user.
      *
-     * <p> Page.map() method transforms each Category entity to an CategorySummaryResponse DTO
-     * while preserving all pagination metadata (total elements, page info, etc.).</p>
+     * <p> The rows are selected straight into CategorySummaryResponse, no Category entity is loaded.
+     * The page carries its pagination metadata (total elements, page info, etc.), which costs a count query.</p>
      *
      * @param userUuid the owner's ID
      * @param pageable pagination parameters
      * @return page of category DTOs
      */
+    @QueryBudget(2)
     public Page<CategorySummaryResponse> getCategories(String userUuid, Pageable pageable) {
-        return categoryRepository.findByUser_Uuid(userUuid, pageable)
-                .map(CategorySummaryResponse::from);
+        return currentUserContext.userId(userUuid)
+                .map(userId -> categoryRepository.findByUser_Id(userId, pageable, CategorySummaryResponse.class))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+
+    // Same rows as getCategories without the count query, the slice only knows whether a next one exists
+    @QueryBudget(1)
+    public Slice<CategorySummaryResponse> getCategorySlice(String userUuid, Pageable pageable) {
+        return currentUserContext.userId(userUuid)
+                .map(userId -> categoryRepository.findSliceByUser_Id(userId, pageable, CategorySummaryResponse.class))
+                .orElseGet(() -> new SliceImpl<>(List.of(), pageable, false));
+    }
+
+    /**
+     * Gets the categories of a user by name, continuing after the category the cursor points at.
+     *
+     * <p> The cursor is a position in (name, id) order, so every window is a range read on the
+     * (user_id, category_name, id) index, however far the client has scrolled. As with getCategories the
+     * rows are selected straight into CategorySummaryResponse.</p>
+     *
+     * @param userUuid the owner's ID
+     * @param cursor   nextCursor of the previous window, or null for the first one
+     * @param size     rows per window, capped at {@link ScrollCursors#MAX_SIZE}
+     * @return window of category DTOs with the cursor of the next one
+     */
+    @QueryBudget(1)
+    public CursorPageResponse<CategorySummaryResponse> scrollCategories(String userUuid, String cursor, int size) {
+        ScrollPosition position = ScrollCursors.decode(
+                cursor, ScrollCursors.key("name", String.class), ScrollCursors.key("id", Long.class));
+        return currentUserContext.userId(userUuid)
+                .map(userId -> CursorPageResponse.from(categoryRepository.findByUser_Id(
+                        userId, position, ScrollCursors.limit(size), SCROLL_SORT, CategorySummaryResponse.class)))
+                .orElseGet(() -> new CursorPageResponse<>(List.of(), null, false));
     }
 
     @Transactional
     public CategorySummaryResponse create(String userUuid, CreateCategoryRequest request) {
-        if (categoryRepository.existsByNameAndUser_UuidAndStatus(request.name(), userUuid, StatusEnum.ACTIVE.getCode())) {
+        // Only the foreign key is needed, so the caller is referenced without being loaded
+        User user = currentUserContext.getUserReference(userUuid)
+                .orElseThrow(() -> new ResourceNotFoundException("User does not exist or is inactive"));
+
+        if (categoryRepository.existsByNameAndUser_IdAndStatus(request.name(), user.getId(), StatusEnum.ACTIVE.getCode())) {
             throw new DuplicateResourceException("There is already one category with same name for currentUser");
         }
 
-        User user = userRepository.findByUuidAndStatus(userUuid, StatusEnum.ACTIVE.getCode())
-                .orElseThrow(() -> new ResourceNotFoundException("User does not exist or is inactive"));
-
         Category categoryToCreate = request.toEntity();
 
-        categoryToCreate.addUser(user);
+        // setUser instead of addUser: adding to user.categories would initialize the collection
+        categoryToCreate.setUser(user);
 
         categoryRepository.save(categoryToCreate);
         return CategorySummaryResponse.from(categoryToCreate);
@@ -68,10 +116,17 @@ public class CategoryService {
 
     @Transactional
     public CategorySummaryResponse update(String userUuid, String categoryUuid, UpdateCategoryRequest request) {
-        Category categoryToUpdate = categoryRepository.findByUuidAndUser_UuidAndStatus(categoryUuid, userUuid, StatusEnum.ACTIVE.getCode())
+        Long userId = currentUserContext.userId(userUuid)
+                .orElseThrow(() -> new ResourceNotFoundException("No category found with this uuid for this currentUser"));
+
+        // Loaded by natural id, usually from the second-level cache; the owner check reads the foreign key
+        // held by the user proxy, without loading the user
+        Category categoryToUpdate = categoryRepository.findByUuid(categoryUuid)
+                .filter(category -> StatusEnum.ACTIVE.getCode().equals(category.getStatus())
+                        && userId.equals(category.getUser().getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("No category found with this uuid for this currentUser"));
 
-        if (categoryRepository.existsByNameAndUser_UuidAndStatus(request.newName(), userUuid, StatusEnum.ACTIVE.getCode())) {
+        if (categoryRepository.existsByNameAndUser_IdAndStatus(request.newName(), userId, StatusEnum.ACTIVE.getCode())) {
             throw new DuplicateResourceException("There is already one category with same name for user.");
         }
 
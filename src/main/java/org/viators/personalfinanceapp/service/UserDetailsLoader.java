@@ -0,0 +1,171 @@
+package org.viators.personalfinanceapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.viators.personalfinanceapp.dto.basket.response.BasketSummaryResponse;
+import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.common.response.SectionResponse;
+import org.viators.personalfinanceapp.dto.inflationreport.response.InflationReportSummaryResponse;
+import org.viators.personalfinanceapp.dto.item.response.ItemSummaryResponse;
+import org.viators.personalfinanceapp.dto.pricealert.response.PriceAlertSummaryResponse;
+import org.viators.personalfinanceapp.dto.shoppinglist.response.ShoppingListSummaryResponse;
+import org.viators.personalfinanceapp.dto.user.response.UserDetailsResponse;
+import org.viators.personalfinanceapp.exceptions.DeadlineExceededException;
+import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.repository.UserDetailsRepository;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the user details page by loading its sections concurrently, so the latency is the slowest
+ * section rather than the sum of all of them.
+ * <p>
+ * Every section runs on its own virtual thread in its own read-only transaction, hence on its own connection.
+ * A per-request semaphore caps how many of those connections a single request holds at once, so one page
+ * cannot drain the pool. The whole load shares one deadline: waiting for a permit, the transaction timeout
+ * of each query and waiting for the results all count against it. If any section fails or the deadline
+ * passes, the remaining sections are cancelled.
+ * <p>
+ * Each section reads one row past {@code section-limit} so a cut section is flagged ({@code hasMore}) rather
+ * than silently truncated, with a link to the paged endpoint where one exists. Those endpoints list the
+ * caller's own data, so the link is only given when the caller is the user the page is about.
+ * <p>
+ * The request thread itself never touches the database, so the open-in-view session of the request does
+ * not hold a connection while the sections run.
+ */
+@Service
+@Slf4j
+public class UserDetailsLoader {
+
+    // Lists the caller's own categories
+    static final String CATEGORIES_URL = "/v1/api/categories/scroll";
+
+    private final UserDetailsRepository userDetailsRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final int sectionLimit;
+    private final int maxConcurrentQueries;
+    private final Duration deadline;
+
+    public UserDetailsLoader(UserDetailsRepository userDetailsRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.user-details.section-limit:100}") int sectionLimit,
+                             @Value("${app.user-details.max-concurrent-queries:3}") int maxConcurrentQueries,
+                             @Value("${app.user-details.deadline-ms:3000}") long deadlineMs) {
+        this.userDetailsRepository = userDetailsRepository;
+        this.transactionManager = transactionManager;
+        this.sectionLimit = sectionLimit;
+        this.maxConcurrentQueries = Math.max(1, maxConcurrentQueries);
+        this.deadline = Duration.ofMillis(deadlineMs);
+    }
+
+    /**
+     * @param ownDetails whether the caller is the user the page is about, which the links to the paged
+     *                   endpoints depend on
+     */
+    public UserDetailsResponse load(String userUuid, boolean ownDetails) {
+        Load load = new Load(System.nanoTime() + deadline.toNanos(), new Semaphore(maxConcurrentQueries));
+
+        // The sections see the caller's security context, which routing to replicas relies on (read-your-writes)
+        try (ExecutorService executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor())) {
+            try {
+                return load(userUuid, ownDetails, load, executor);
+            } catch (RuntimeException e) {
+                // Don't let the other sections keep their connections for a response that will not be sent
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private UserDetailsResponse load(String userUuid, boolean ownDetails, Load load, ExecutorService executor) {
+        // The sections are keyed by user id, so the user comes first
+        User user = load.await(load.submit(executor,
+                        () -> userDetailsRepository.findUserWithPreferences(userUuid)))
+                .orElseThrow(() -> new ResourceNotFoundException("No user found with this uuid"));
+        Long userId = user.getId();
+
+        int rows = sectionLimit + 1;
+        String categoriesUrl = ownDetails ? CATEGORIES_URL : null;
+        Future<SectionResponse<ItemSummaryResponse>> items = load.submit(executor, () -> SectionResponse.of(
+                ItemSummaryResponse.listOfSummaries(userDetailsRepository.findItems(userId, rows)), sectionLimit, null));
+        Future<SectionResponse<CategorySummaryResponse>> categories = load.submit(executor, () -> SectionResponse.of(
+                userDetailsRepository.findCategorySummaries(userId, rows), sectionLimit, categoriesUrl));
+        Future<SectionResponse<PriceAlertSummaryResponse>> priceAlerts = load.submit(executor, () -> SectionResponse.of(
+                PriceAlertSummaryResponse.listOfSummaries(userDetailsRepository.findPriceAlerts(userId, rows)), sectionLimit, null));
+        Future<SectionResponse<ShoppingListSummaryResponse>> shoppingLists = load.submit(executor, () -> SectionResponse.of(
+                userDetailsRepository.findShoppingListSummaries(userId, rows), sectionLimit, null));
+        Future<SectionResponse<InflationReportSummaryResponse>> inflationReports = load.submit(executor, () -> SectionResponse.of(
+                InflationReportSummaryResponse.listOfSummaries(userDetailsRepository.findInflationReports(userId, rows)), sectionLimit, null));
+        Future<SectionResponse<BasketSummaryResponse>> baskets = load.submit(executor, () -> SectionResponse.of(
+                userDetailsRepository.findBasketSummaries(userId, rows), sectionLimit, null));
+
+        return UserDetailsResponse.from(user,
+                load.await(items),
+                load.await(categories),
+                load.await(priceAlerts),
+                load.await(shoppingLists),
+                load.await(inflationReports),
+                load.await(baskets));
+    }
+
+    private final class Load {
+
+        private final long deadlineNanos;
+        private final Semaphore connections;
+
+        private Load(long deadlineNanos, Semaphore connections) {
+            this.deadlineNanos = deadlineNanos;
+            this.connections = connections;
+        }
+
+        <T> Future<T> submit(ExecutorService executor, Supplier<T> section) {
+            return executor.submit(() -> {
+                if (!connections.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                    throw deadlineExceeded();
+                }
+                try {
+                    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                    transaction.setReadOnly(true);
+                    // Transaction timeouts are in whole seconds, round up so they never undercut the deadline
+                    transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos() + 999_999_999L)));
+                    return transaction.execute(status -> section.get());
+                } finally {
+                    connections.release();
+                }
+            });
+        }
+
+        <T> T await(Future<T> future) {
+            try {
+                return future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw deadlineExceeded();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Loading user details failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw deadlineExceeded();
+            }
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+
+        private DeadlineExceededException deadlineExceeded() {
+            log.warn("User details not loaded within {} ms", deadline.toMillis());
+            return new DeadlineExceededException("User details could not be loaded in time, please retry");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.viators.personalfinanceapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
+import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.model.enums.ExportFormatEnum;
+import org.viators.personalfinanceapp.repository.UserRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every user to a stream as NDJSON or CSV, one row at a time.
+ * <p>
+ * Memory stays flat whatever the number of users: rows come from a database cursor and are written as soon
+ * as they are read. Writing blocks while the client is not reading, which in turn stops the cursor, so a slow
+ * client holds one connection but never makes the export buffer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "uuid,username,fullName,email,status";
+
+    private final UserRepository userRepository;
+    private final JsonMapper jsonMapper;
+
+    @QueryBudget(1)
+    @Transactional(readOnly = true)
+    public long export(ExportFormatEnum format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        if (format == ExportFormatEnum.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<UserSummaryResponse> users = userRepository.streamAllSummaries()) {
+            Iterator<UserSummaryResponse> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(format == ExportFormatEnum.CSV ? csv(iterator.next()) : jsonMapper.writeValueAsString(iterator.next()));
+                writer.write('\n');
+
+                // Hand finished rows to the client instead of letting the response buffer grow
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+
+    private static String csv(UserSummaryResponse user) {
+        return String.join(",",
+                csvField(user.uuid()),
+                csvField(user.username()),
+                csvField(user.fullName()),
+                csvField(user.email()),
+                csvField(user.status()));
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        // A leading =, +, -, @, tab or CR makes spreadsheets evaluate the cell as a formula (CSV injection),
+        // the quote keeps it text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
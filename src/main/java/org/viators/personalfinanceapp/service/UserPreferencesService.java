@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.viators.personalfinanceapp.annotations.RetryOnConflict;
 import org.viators.personalfinanceapp.dto.userpreferences.request.UpdatePreferredStoresRequest;
 import org.viators.personalfinanceapp.dto.userpreferences.request.UpdateUserPrefRequest;
 import org.viators.personalfinanceapp.dto.userpreferences.response.UserPreferencesSummaryResponse;
@@ -12,6 +13,9 @@ import org.viators.personalfinanceapp.model.Store;
 import org.viators.personalfinanceapp.model.UserPreferences;
 import org.viators.personalfinanceapp.repository.StoreRepository;
 import org.viators.personalfinanceapp.repository.UserPreferencesRepository;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,35 +25,42 @@ public class UserPreferencesService {
 
     private final UserPreferencesRepository userPreferencesRepository;
     private final StoreRepository storeRepository;
+    private final CurrentUserContext currentUserContext;
 
     public UserPreferencesSummaryResponse getPreferences(String uuid) {
-        UserPreferences userPreferences = userPreferencesRepository.findByUser_Uuid(uuid)
+        UserPreferences userPreferences = findPreferences(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("No such user in system."));
 
         return UserPreferencesSummaryResponse.from(userPreferences);
     }
 
+    // Several devices of the same user may save their settings at the same time
+    @RetryOnConflict
     @Transactional
     public UserPreferencesSummaryResponse updateUserPrefs(String uuid, UpdateUserPrefRequest request) {
-        UserPreferences userPreferencesToUpdate = userPreferencesRepository.findByUser_Uuid(uuid)
+        UserPreferences userPreferencesToUpdate = findPreferences(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("No such user in system."));
 
         request.updateUserPrefs(userPreferencesToUpdate);
         return UserPreferencesSummaryResponse.from(userPreferencesToUpdate);
     }
 
+    @RetryOnConflict
     @Transactional
     public UserPreferencesSummaryResponse resetUserPrefsToDefault(String uuid) {
-        UserPreferences userPreferencesToUpdate = userPreferencesRepository.findByUser_Uuid(uuid)
+        UserPreferences userPreferencesToUpdate = findPreferences(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("No such user in system."));
 
         UpdateUserPrefRequest.resetUserPrefs(userPreferencesToUpdate);
         return UserPreferencesSummaryResponse.from(userPreferencesToUpdate);
     }
 
+    // Toggles against the membership read by each attempt, so a retry after a concurrent toggle of the
+    // same store undoes it, as two sequential toggles would
+    @RetryOnConflict
     @Transactional
     public void updateUserPreferredStores(String uuid, UpdatePreferredStoresRequest request) {
-        UserPreferences userPreferences = userPreferencesRepository.findByUser_Uuid(uuid)
+        UserPreferences userPreferences = findPreferences(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("No user found with this uuid"));
 
         Store storeToUpdate = storeRepository.findByUuid(request.uuid())
@@ -62,4 +73,9 @@ public class UserPreferencesService {
         }
     }
 
+    // Looked up by user id, from the token for the caller, so the query never touches users
+    private Optional<UserPreferences> findPreferences(String userUuid) {
+        return currentUserContext.userId(userUuid)
+                .flatMap(userPreferencesRepository::findByUser_Id);
+    }
 }
@@ -2,33 +2,54 @@ package org.viators.personalfinanceapp.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.viators.personalfinanceapp.dto.common.response.CursorPageResponse;
 import org.viators.personalfinanceapp.dto.user.request.CreateUserRequest;
 import org.viators.personalfinanceapp.dto.user.request.UpdateUserPasswordRequest;
 import org.viators.personalfinanceapp.dto.user.request.UpdateUserRequest;
 import org.viators.personalfinanceapp.dto.user.response.UserDetailsResponse;
 import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.events.UserChangedEvent;
+import org.viators.personalfinanceapp.events.UserChangedEvent.ChangeType;
 import org.viators.personalfinanceapp.exceptions.BusinessException;
 import org.viators.personalfinanceapp.exceptions.DuplicateResourceException;
 import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
+import org.viators.personalfinanceapp.model.SearchGrams;
 import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.UserPreferences;
+import org.viators.personalfinanceapp.model.enums.SearchModeEnum;
 import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.pagination.ScrollCursors;
 import org.viators.personalfinanceapp.repository.UserRepository;
+import org.viators.personalfinanceapp.security.AuthenticatedUser;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor // used for DI
 @Slf4j
 public class UserService {
 
+    private static final Sort USER_SCROLL_SORT = Sort.by("id");
+
     private final UserRepository userRepository;
+    private final UserDetailsLoader userDetailsLoader;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserContext currentUserContext;
 
     @Transactional
     public UserSummaryResponse registerUser(CreateUserRequest request) {
@@ -47,6 +68,7 @@ public class UserService {
 
         User userToRegister = request.toEntity();
         userToRegister.setPassword(encryptPassword(request.password()));
+        userToRegister.refreshSearchGrams();
 
         //Create default Preferences
         UserPreferences userPreferences = UserPreferences.createDefaultPreferences();
@@ -64,44 +86,77 @@ public class UserService {
 
     @Transactional
     public boolean updateUserPassword(String uuid, UpdateUserPasswordRequest request) {
-        User userToUpdate = userRepository.findByUuidAndStatus(uuid, StatusEnum.ACTIVE.getCode()).orElse(null);
+        User userToUpdate = currentUserContext.findActiveUser(uuid).orElse(null);
 
         if (userToUpdate == null) {
             throw new ResourceNotFoundException(String.format("User with uuid: %s does not exist", uuid));
         }
 
         userToUpdate.setPassword(encryptPassword(request.newPassword()));
+        eventPublisher.publishEvent(UserChangedEvent.of(userToUpdate, ChangeType.PASSWORD_CHANGED));
         return true;
     }
 
+    /**
+     * Rehashes an unchanged password with the current encoder settings. Tokens stay valid,
+     * the event only evicts the cached hash.
+     */
+    @Transactional
+    public void upgradePasswordHash(String uuid, String rawPassword) {
+        currentUserContext.findActiveUser(uuid)
+                .ifPresent(user -> {
+                    user.setPassword(encryptPassword(rawPassword));
+                    eventPublisher.publishEvent(UserChangedEvent.of(user, ChangeType.PASSWORD_REHASHED));
+                    log.info("Upgraded password hash for user with uuid: {}", uuid);
+                });
+    }
+
     @Transactional
     public UserSummaryResponse updateUserInfo(String uuid, UpdateUserRequest updateUserRequest) {
-        User userToUpdate = userRepository.findByUuidAndStatus(uuid, StatusEnum.ACTIVE.getCode())
+        User userToUpdate = currentUserContext.findActiveUser(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("User with uuid: %s does not exist or is inactive", uuid)));
 
+        String previousEmail = userToUpdate.getEmail();
+        UserRolesEnum previousRole = userToUpdate.getUserRole();
+
         updateUserRequest.updateUser(userToUpdate); // No need to call save() - dirty checking handles it!
+        userToUpdate.refreshSearchGrams();
+
+        ChangeType changeType = !previousRole.equals(userToUpdate.getUserRole()) ? ChangeType.ROLE_CHANGED
+                : !previousEmail.equals(userToUpdate.getEmail()) ? ChangeType.EMAIL_CHANGED
+                : ChangeType.PROFILE_UPDATED;
+        eventPublisher.publishEvent(UserChangedEvent.of(userToUpdate, previousEmail, changeType));
         return UserSummaryResponse.from(userToUpdate);
     }
 
     @Transactional
     public void deactivateUser(String uuid) {
-        User userToDeactivate = userRepository.findByUuidAndStatus(uuid, StatusEnum.ACTIVE.getCode())
+        User userToDeactivate = currentUserContext.findActiveUser(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("User does not exist or is already deactivated"));
 
         userToDeactivate.setStatus(StatusEnum.INACTIVE.getCode());
+        eventPublisher.publishEvent(UserChangedEvent.of(userToDeactivate, ChangeType.DEACTIVATED));
     }
 
     @Transactional(readOnly = true)
     public User findUserByUuidAndStatus(String uuid, StatusEnum status) {
+        if (status == StatusEnum.ACTIVE) {
+            return currentUserContext.findActiveUser(uuid).orElse(null);
+        }
         return userRepository.findByUuidAndStatus(uuid, status.getCode()).orElse(null);
     }
 
     @Transactional(readOnly = true)
     public List<UserSummaryResponse> findAllUsers(String uuid) {
-        User user = userRepository.findByUuid(uuid).orElseThrow(() ->
-                new ResourceNotFoundException("Request made from a user that does not exist."));
-
-        if (!user.isAdmin()) {
+        // The role of the caller is already in the token, no need to load it
+        boolean isAdmin = currentUserContext.authenticatedUser()
+                .filter(caller -> caller.uuid().equals(uuid))
+                .map(AuthenticatedUser::isAdmin)
+                .orElseGet(() -> userRepository.findByUuid(uuid)
+                        .orElseThrow(() -> new ResourceNotFoundException("Request made from a user that does not exist."))
+                        .isAdmin());
+
+        if (!isAdmin) {
             throw new BusinessException("User cannot see other users unless is an admin user");
         }
 
@@ -118,6 +173,52 @@ public class UserService {
         return users.map(UserSummaryResponse::from);
     }
 
+    // findAllUsersPaginated without the count query
+    @Transactional(readOnly = true)
+    public Slice<UserSummaryResponse> findUsersSlice(Pageable pageable) {
+        return userRepository.findAllBy(pageable)
+                .map(UserSummaryResponse::from);
+    }
+
+    /**
+     * Lists users in id (registration) order, continuing after the user the cursor points at. Unlike an offset
+     * page, a window deep into the list is as cheap as the first one: it is a range read on the primary key.
+     *
+     * @param cursor nextCursor of the previous window, or null for the first one
+     * @param size   rows per window, capped at {@link ScrollCursors#MAX_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserSummaryResponse> scrollUsers(String cursor, int size) {
+        Window<User> users = userRepository.findAllBy(
+                ScrollCursors.decode(cursor, ScrollCursors.key("id", Long.class)), ScrollCursors.limit(size), USER_SCROLL_SORT);
+        return CursorPageResponse.from(users, UserSummaryResponse::from);
+    }
+
+    /**
+     * Admin search for users whose username, email, first or last name starts with, or contains, the query.
+     * <p>
+     * An infix term is looked up by its trigrams, so shorter queries are always matched as prefixes.
+     * Wildcards typed by the caller are matched literally.
+     */
+    @Transactional(readOnly = true)
+    public Slice<UserSummaryResponse> searchUsers(String query, SearchModeEnum mode, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        String raw = query.strip().toLowerCase(Locale.ROOT);
+        String term = raw
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        boolean contains = mode == SearchModeEnum.CONTAINS && raw.codePointCount(0, raw.length()) >= SearchGrams.LENGTH;
+
+        Set<String> grams = SearchGrams.keysFor(raw, !contains);
+
+        return userRepository.searchUsers(grams, grams.size(), contains ? "%" + term + "%" : term + "%", pageable)
+                .map(UserSummaryResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public boolean isEmailAvailable(String email) {
         return userRepository.existsByEmail(email);
@@ -128,11 +229,9 @@ public class UserService {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    // Not transactional on purpose: every section is loaded in its own read-only transaction
     public UserDetailsResponse findUserByUuidWithAllRelationships(String uuid) {
-        User result = userRepository.findUserByUuidWithAllRelationships(uuid)
-                .orElseThrow(() -> new ResourceNotFoundException("No user found with this uuid"));
-
-        return UserDetailsResponse.from(result);
+        return userDetailsLoader.load(uuid, currentUserContext.callerId(uuid).isPresent());
     }
 
     public UserSummaryResponse findUserByUuid(String uuid) {
@@ -0,0 +1,306 @@
+-- Baseline of the schema previously generated by Hibernate (ddl-auto), ids now come from pooled sequences
+
+-- MySQL has no sequences, Hibernate emulates them with a single-row table it increments by the allocation size
+create table entity_id_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into entity_id_seq values (1);
+
+create table token_revocations_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into token_revocations_seq values (1);
+
+create table users (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    username varchar(50) not null,
+    email varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    password varchar(255) not null,
+    age integer,
+    user_role enum('ADMIN','USER') not null,
+    primary key (id),
+    constraint uk_users_uuid unique (uuid),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine = InnoDB;
+
+create table stores (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    store_name varchar(255) not null,
+    store_type enum('SUPERMARKET','ONLINE','CONVENIENCE_STORE','PHARMACY','DEPARTMENT_STORE','SPECIALTY_SHOP','WAREHOUSE_CLUB','OTHER') not null,
+    address varchar(255),
+    city varchar(255),
+    region varchar(255),
+    country varchar(255),
+    website varchar(255),
+    primary key (id),
+    constraint uk_stores_uuid unique (uuid),
+    constraint uk_stores_store_name unique (store_name)
+) engine = InnoDB;
+
+create table user_preferences (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    currency enum('EUR','USD') not null,
+    language enum('GREEK','ENGLISH') not null,
+    location varchar(255) not null,
+    notification_enabled bit not null,
+    email_alerts bit not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_user_preferences_uuid unique (uuid),
+    constraint uk_user_preferences_user_id unique (user_id),
+    constraint fk_user_preferences_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table user_preferred_stores (
+    user_preference_id bigint not null,
+    store_id bigint not null,
+    primary key (user_preference_id, store_id),
+    constraint fk_user_preferred_stores_user_preference foreign key (user_preference_id) references user_preferences (id),
+    constraint fk_user_preferred_stores_store foreign key (store_id) references stores (id)
+) engine = InnoDB;
+
+create table categories (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    category_name varchar(50) not null,
+    description varchar(255),
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_categories_uuid unique (uuid),
+    constraint fk_categories_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(255),
+    item_unit enum('LITTER','KILOGRAM','PIECE'),
+    brand varchar(255),
+    user_id bigint not null,
+    category_id bigint,
+    primary key (id),
+    constraint uk_items_uuid unique (uuid),
+    constraint fk_items_user foreign key (user_id) references users (id),
+    constraint fk_items_category foreign key (category_id) references categories (id)
+) engine = InnoDB;
+
+create table price_observations (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    price decimal(38,2) not null,
+    currency enum('EUR','USD') not null,
+    observation_date date not null,
+    location varchar(255) not null,
+    notes varchar(800),
+    item_id bigint not null,
+    store_id bigint not null,
+    primary key (id),
+    constraint uk_price_observations_uuid unique (uuid),
+    constraint fk_price_observations_item foreign key (item_id) references items (id),
+    constraint fk_price_observations_store foreign key (store_id) references stores (id)
+) engine = InnoDB;
+
+create table price_alerts (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    alert_type enum('PRICE_INCREASE','PRICE_DECREASE','REACHES_TARGET','PERCENTAGE_CHANGE') not null,
+    threshold_price decimal(38,2),
+    percentage_change decimal(38,2),
+    last_triggered_at datetime(6),
+    user_id bigint not null,
+    item_id bigint not null,
+    primary key (id),
+    constraint uk_price_alerts_uuid unique (uuid),
+    constraint fk_price_alerts_user foreign key (user_id) references users (id),
+    constraint fk_price_alerts_item foreign key (item_id) references items (id)
+) engine = InnoDB;
+
+create table price_comparisons (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    comparison_date date not null,
+    lowest_price decimal(38,2),
+    highest_price decimal(38,2),
+    average_price decimal(38,2),
+    price_spread decimal(38,2),
+    user_id bigint not null,
+    item_id bigint not null,
+    best_store_id bigint not null,
+    primary key (id),
+    constraint uk_price_comparisons_uuid unique (uuid),
+    constraint fk_price_comparisons_user foreign key (user_id) references users (id),
+    constraint fk_price_comparisons_item foreign key (item_id) references items (id),
+    constraint fk_price_comparisons_best_store foreign key (best_store_id) references stores (id)
+) engine = InnoDB;
+
+create table inflation_reports (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    report_type enum('MONTHLY','QUARTERLY','YEARLY','CUSTOM') not null,
+    start_date date not null,
+    end_date date not null,
+    inflation_rate decimal(38,2),
+    average_price decimal(38,2),
+    price_change_amount decimal(38,2),
+    item_count integer,
+    user_id bigint not null,
+    category_id bigint,
+    primary key (id),
+    constraint uk_inflation_reports_uuid unique (uuid),
+    constraint fk_inflation_reports_user foreign key (user_id) references users (id),
+    constraint fk_inflation_reports_category foreign key (category_id) references categories (id)
+) engine = InnoDB;
+
+create table shopping_lists (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(300),
+    target_date date not null,
+    estimated_total decimal(38,2),
+    actual_total decimal(38,2),
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_shopping_lists_uuid unique (uuid),
+    constraint fk_shopping_lists_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table shopping_list_items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    quantity decimal(38,2) not null,
+    is_purchased bit not null,
+    purchased_price decimal(38,2),
+    purchased_date date,
+    shopping_list_id bigint not null,
+    item_id bigint not null,
+    store bigint not null,
+    primary key (id),
+    constraint uk_shopping_list_items_uuid unique (uuid),
+    constraint fk_shopping_list_items_shopping_list foreign key (shopping_list_id) references shopping_lists (id),
+    constraint fk_shopping_list_items_item foreign key (item_id) references items (id),
+    constraint fk_shopping_list_items_store foreign key (store) references stores (id)
+) engine = InnoDB;
+
+create table baskets (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(800),
+    is_default bit,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_baskets_uuid unique (uuid),
+    constraint fk_baskets_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table baskets_items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    status varchar(1) not null,
+    basket_id bigint not null,
+    item_id bigint not null,
+    quantity decimal(38,2) not null,
+    primary key (id),
+    constraint uk_baskets_items_uuid unique (uuid),
+    constraint uk_basket_item unique (basket_id, item_id),
+    constraint fk_baskets_items_basket foreign key (basket_id) references baskets (id),
+    constraint fk_baskets_items_item foreign key (item_id) references items (id)
+) engine = InnoDB;
+
+create table token_revocations (
+    id bigint not null,
+    user_uuid varchar(36) not null,
+    token_id varchar(36),
+    revoked_at bigint not null,
+    expires_at bigint not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_token_revocation_revoked_at on token_revocations (revoked_at);
+create index idx_token_revocation_expires_at on token_revocations (expires_at);
+create index idx_store_name on stores (store_name);
@@ -0,0 +1,105 @@
+-- Entity uuids move from varchar strings to 16 bytes, in the standard (unswapped) byte order Hibernate uses
+
+alter table users add column uuid_bin binary(16);
+update users set uuid_bin = uuid_to_bin(uuid);
+alter table users
+    drop index uk_users_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_users_uuid unique (uuid);
+
+alter table stores add column uuid_bin binary(16);
+update stores set uuid_bin = uuid_to_bin(uuid);
+alter table stores
+    drop index uk_stores_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_stores_uuid unique (uuid);
+
+alter table user_preferences add column uuid_bin binary(16);
+update user_preferences set uuid_bin = uuid_to_bin(uuid);
+alter table user_preferences
+    drop index uk_user_preferences_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_user_preferences_uuid unique (uuid);
+
+alter table categories add column uuid_bin binary(16);
+update categories set uuid_bin = uuid_to_bin(uuid);
+alter table categories
+    drop index uk_categories_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_categories_uuid unique (uuid);
+
+alter table items add column uuid_bin binary(16);
+update items set uuid_bin = uuid_to_bin(uuid);
+alter table items
+    drop index uk_items_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_items_uuid unique (uuid);
+
+alter table price_observations add column uuid_bin binary(16);
+update price_observations set uuid_bin = uuid_to_bin(uuid);
+alter table price_observations
+    drop index uk_price_observations_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_price_observations_uuid unique (uuid);
+
+alter table price_alerts add column uuid_bin binary(16);
+update price_alerts set uuid_bin = uuid_to_bin(uuid);
+alter table price_alerts
+    drop index uk_price_alerts_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_price_alerts_uuid unique (uuid);
+
+alter table price_comparisons add column uuid_bin binary(16);
+update price_comparisons set uuid_bin = uuid_to_bin(uuid);
+alter table price_comparisons
+    drop index uk_price_comparisons_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_price_comparisons_uuid unique (uuid);
+
+alter table inflation_reports add column uuid_bin binary(16);
+update inflation_reports set uuid_bin = uuid_to_bin(uuid);
+alter table inflation_reports
+    drop index uk_inflation_reports_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_inflation_reports_uuid unique (uuid);
+
+alter table shopping_lists add column uuid_bin binary(16);
+update shopping_lists set uuid_bin = uuid_to_bin(uuid);
+alter table shopping_lists
+    drop index uk_shopping_lists_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_shopping_lists_uuid unique (uuid);
+
+alter table shopping_list_items add column uuid_bin binary(16);
+update shopping_list_items set uuid_bin = uuid_to_bin(uuid);
+alter table shopping_list_items
+    drop index uk_shopping_list_items_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_shopping_list_items_uuid unique (uuid);
+
+alter table baskets add column uuid_bin binary(16);
+update baskets set uuid_bin = uuid_to_bin(uuid);
+alter table baskets
+    drop index uk_baskets_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_baskets_uuid unique (uuid);
+
+alter table baskets_items add column uuid_bin binary(16);
+update baskets_items set uuid_bin = uuid_to_bin(uuid);
+alter table baskets_items
+    drop index uk_baskets_items_uuid,
+    drop column uuid,
+    change column uuid_bin uuid binary(16) not null,
+    add constraint uk_baskets_items_uuid unique (uuid);
@@ -0,0 +1,3 @@
+-- Keyset scrolling of a user's categories: where user_id = ? and (category_name, id) > (?, ?)
+-- order by category_name, id. Offset pages and slices sorted by name read the same index.
+create index idx_category_user_name on categories (user_id, category_name, id);
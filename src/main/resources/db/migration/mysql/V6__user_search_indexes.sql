@@ -0,0 +1,6 @@
+-- Admin user search: lower(column) like 'term%' on username, email, first and last name.
+-- MySQL has no trigram indexes and a like pattern cannot use a fulltext index, so these functional
+-- indexes serve prefix searches only; infix searches read the table. lower(lastname) exists since V3.
+create index idx_user_username_lower on users ((lower(username)));
+create index idx_user_email_lower on users ((lower(email)));
+create index idx_user_firstname_lower on users ((lower(firstname)));
@@ -0,0 +1,4 @@
+-- Revocation cutoffs move from epoch seconds to epoch milliseconds, compared with the iatMs token claim
+update token_revocations
+set revoked_at = revoked_at * 1000,
+    expires_at = expires_at * 1000;
@@ -0,0 +1,18 @@
+-- Admin user search: trigrams of username, email, first and last name, maintained by the application
+-- (SearchGrams). A search looks its candidates up by one gram on (gram, user_id), prefix and infix alike,
+-- instead of reading the table. Binary collation: grams differing only in case or accents are distinct.
+-- Existing users get their grams from V8_1__Backfill_user_search_grams.
+create table user_search_grams (
+    user_id bigint not null,
+    gram varchar(6) collate utf8mb4_bin not null,
+    primary key (user_id, gram),
+    constraint fk_user_search_grams_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create index idx_user_search_gram on user_search_grams (gram, user_id);
+
+-- Replaced by the grams, the like patterns only filter the candidates now
+drop index idx_user_lastname_lower on users;
+drop index idx_user_username_lower on users;
+drop index idx_user_email_lower on users;
+drop index idx_user_firstname_lower on users;
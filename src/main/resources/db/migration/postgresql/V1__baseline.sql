@@ -0,0 +1,298 @@
+-- Baseline of the schema previously generated by Hibernate (ddl-auto), ids now come from pooled sequences
+
+create sequence entity_id_seq start with 1 increment by 50;
+create sequence token_revocations_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    username varchar(50) not null,
+    email varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    password varchar(255) not null,
+    age integer,
+    user_role varchar(255) not null,
+    primary key (id),
+    constraint uk_users_uuid unique (uuid),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table stores (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    store_name varchar(255) not null,
+    store_type varchar(255) not null,
+    address varchar(255),
+    city varchar(255),
+    region varchar(255),
+    country varchar(255),
+    website varchar(255),
+    primary key (id),
+    constraint uk_stores_uuid unique (uuid),
+    constraint uk_stores_store_name unique (store_name)
+);
+
+create table user_preferences (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    currency varchar(255) not null,
+    language varchar(255) not null,
+    location varchar(255) not null,
+    notification_enabled boolean not null,
+    email_alerts boolean not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_user_preferences_uuid unique (uuid),
+    constraint uk_user_preferences_user_id unique (user_id),
+    constraint fk_user_preferences_user foreign key (user_id) references users (id)
+);
+
+create table user_preferred_stores (
+    user_preference_id bigint not null,
+    store_id bigint not null,
+    primary key (user_preference_id, store_id),
+    constraint fk_user_preferred_stores_user_preference foreign key (user_preference_id) references user_preferences (id),
+    constraint fk_user_preferred_stores_store foreign key (store_id) references stores (id)
+);
+
+create table categories (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    category_name varchar(50) not null,
+    description varchar(255),
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_categories_uuid unique (uuid),
+    constraint fk_categories_user foreign key (user_id) references users (id)
+);
+
+create table items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(255),
+    item_unit varchar(255),
+    brand varchar(255),
+    user_id bigint not null,
+    category_id bigint,
+    primary key (id),
+    constraint uk_items_uuid unique (uuid),
+    constraint fk_items_user foreign key (user_id) references users (id),
+    constraint fk_items_category foreign key (category_id) references categories (id)
+);
+
+create table price_observations (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    price numeric(38,2) not null,
+    currency varchar(255) not null,
+    observation_date date not null,
+    location varchar(255) not null,
+    notes varchar(800),
+    item_id bigint not null,
+    store_id bigint not null,
+    primary key (id),
+    constraint uk_price_observations_uuid unique (uuid),
+    constraint fk_price_observations_item foreign key (item_id) references items (id),
+    constraint fk_price_observations_store foreign key (store_id) references stores (id)
+);
+
+create table price_alerts (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    alert_type varchar(255) not null,
+    threshold_price numeric(38,2),
+    percentage_change numeric(38,2),
+    last_triggered_at timestamp(6),
+    user_id bigint not null,
+    item_id bigint not null,
+    primary key (id),
+    constraint uk_price_alerts_uuid unique (uuid),
+    constraint fk_price_alerts_user foreign key (user_id) references users (id),
+    constraint fk_price_alerts_item foreign key (item_id) references items (id)
+);
+
+create table price_comparisons (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    comparison_date date not null,
+    lowest_price numeric(38,2),
+    highest_price numeric(38,2),
+    average_price numeric(38,2),
+    price_spread numeric(38,2),
+    user_id bigint not null,
+    item_id bigint not null,
+    best_store_id bigint not null,
+    primary key (id),
+    constraint uk_price_comparisons_uuid unique (uuid),
+    constraint fk_price_comparisons_user foreign key (user_id) references users (id),
+    constraint fk_price_comparisons_item foreign key (item_id) references items (id),
+    constraint fk_price_comparisons_best_store foreign key (best_store_id) references stores (id)
+);
+
+create table inflation_reports (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    report_type varchar(255) not null,
+    start_date date not null,
+    end_date date not null,
+    inflation_rate numeric(38,2),
+    average_price numeric(38,2),
+    price_change_amount numeric(38,2),
+    item_count integer,
+    user_id bigint not null,
+    category_id bigint,
+    primary key (id),
+    constraint uk_inflation_reports_uuid unique (uuid),
+    constraint fk_inflation_reports_user foreign key (user_id) references users (id),
+    constraint fk_inflation_reports_category foreign key (category_id) references categories (id)
+);
+
+create table shopping_lists (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(300),
+    target_date date not null,
+    estimated_total numeric(38,2),
+    actual_total numeric(38,2),
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_shopping_lists_uuid unique (uuid),
+    constraint fk_shopping_lists_user foreign key (user_id) references users (id)
+);
+
+create table shopping_list_items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    quantity numeric(38,2) not null,
+    is_purchased boolean not null,
+    purchased_price numeric(38,2),
+    purchased_date date,
+    shopping_list_id bigint not null,
+    item_id bigint not null,
+    store bigint not null,
+    primary key (id),
+    constraint uk_shopping_list_items_uuid unique (uuid),
+    constraint fk_shopping_list_items_shopping_list foreign key (shopping_list_id) references shopping_lists (id),
+    constraint fk_shopping_list_items_item foreign key (item_id) references items (id),
+    constraint fk_shopping_list_items_store foreign key (store) references stores (id)
+);
+
+create table baskets (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    name varchar(255) not null,
+    description varchar(800),
+    is_default boolean,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_baskets_uuid unique (uuid),
+    constraint fk_baskets_user foreign key (user_id) references users (id)
+);
+
+create table baskets_items (
+    id bigint not null,
+    uuid varchar(255) not null,
+    version bigint,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    status varchar(1) not null,
+    basket_id bigint not null,
+    item_id bigint not null,
+    quantity numeric(38,2) not null,
+    primary key (id),
+    constraint uk_baskets_items_uuid unique (uuid),
+    constraint uk_basket_item unique (basket_id, item_id),
+    constraint fk_baskets_items_basket foreign key (basket_id) references baskets (id),
+    constraint fk_baskets_items_item foreign key (item_id) references items (id)
+);
+
+create table token_revocations (
+    id bigint not null,
+    user_uuid varchar(36) not null,
+    token_id varchar(36),
+    revoked_at bigint not null,
+    expires_at bigint not null,
+    primary key (id)
+);
+
+create index idx_token_revocation_revoked_at on token_revocations (revoked_at);
+create index idx_token_revocation_expires_at on token_revocations (expires_at);
+create index idx_store_name on stores (store_name);
@@ -0,0 +1,15 @@
+-- Entity uuids move from varchar strings to the native 16 byte uuid type, the unique constraints are kept
+
+alter table users alter column uuid type uuid using uuid::uuid;
+alter table stores alter column uuid type uuid using uuid::uuid;
+alter table user_preferences alter column uuid type uuid using uuid::uuid;
+alter table categories alter column uuid type uuid using uuid::uuid;
+alter table items alter column uuid type uuid using uuid::uuid;
+alter table price_observations alter column uuid type uuid using uuid::uuid;
+alter table price_alerts alter column uuid type uuid using uuid::uuid;
+alter table price_comparisons alter column uuid type uuid using uuid::uuid;
+alter table inflation_reports alter column uuid type uuid using uuid::uuid;
+alter table shopping_lists alter column uuid type uuid using uuid::uuid;
+alter table shopping_list_items alter column uuid type uuid using uuid::uuid;
+alter table baskets alter column uuid type uuid using uuid::uuid;
+alter table baskets_items alter column uuid type uuid using uuid::uuid;
@@ -0,0 +1,48 @@
+-- One index per repository access path. Every foreign key gets one as well: they are what the
+-- per-user queries filter on, and Postgres (unlike MySQL) does not create them on its own.
+-- categories (uuid) and users (uuid, email, username) are already covered by their unique constraints.
+
+-- countAllByUserRoleAndStatus
+create index idx_user_role_status on users (user_role, status);
+-- findUsersCreatedBetweenDates, range scan already in created_at order
+create index idx_user_created_at on users (created_at);
+
+-- existsByNameAndUser_UuidAndStatus, findByUser_Uuid
+create index idx_category_user_status_name on categories (user_id, status, category_name);
+
+-- items of a user, in id order
+create index idx_item_user on items (user_id, id);
+create index idx_item_category on items (category_id);
+
+-- price history of an item
+create index idx_price_observation_item_date on price_observations (item_id, observation_date);
+create index idx_price_observation_store on price_observations (store_id);
+
+create index idx_price_alert_user on price_alerts (user_id, id);
+create index idx_price_alert_item on price_alerts (item_id);
+
+create index idx_price_comparison_user on price_comparisons (user_id);
+create index idx_price_comparison_item on price_comparisons (item_id);
+create index idx_price_comparison_best_store on price_comparisons (best_store_id);
+
+create index idx_inflation_report_user on inflation_reports (user_id, id);
+create index idx_inflation_report_category on inflation_reports (category_id);
+
+create index idx_shopping_list_user on shopping_lists (user_id, id);
+
+create index idx_shopping_list_item_list on shopping_list_items (shopping_list_id);
+create index idx_shopping_list_item_item on shopping_list_items (item_id);
+create index idx_shopping_list_item_store on shopping_list_items (store);
+
+-- findByUser, findByUserAndName
+create index idx_basket_user_name on baskets (user_id, name);
+
+create index idx_basket_item_item on baskets_items (item_id);
+
+create index idx_user_preferred_store_store on user_preferred_stores (store_id);
+
+-- searchUserByLastName compares lower(lastname), a plain index on the column could not be used
+create index idx_user_lastname_lower on users (lower(lastname) text_pattern_ops);
+
+-- Same as the unique constraint on store_name
+drop index idx_store_name;
@@ -0,0 +1,8 @@
+-- Denormalized entry counts for the basket and shopping list summaries, maintained by the entities.
+alter table baskets add column items_count integer not null default 0;
+alter table shopping_lists add column items_count integer not null default 0;
+
+update baskets b
+set items_count = (select count(*) from baskets_items bi where bi.basket_id = b.id);
+update shopping_lists s
+set items_count = (select count(*) from shopping_list_items si where si.shopping_list_id = s.id);
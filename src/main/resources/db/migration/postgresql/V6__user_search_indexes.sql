@@ -0,0 +1,8 @@
+-- Admin user search: lower(column) like '%term%' on username, email, first and last name.
+-- Trigram GIN indexes serve infix as well as prefix patterns; the four are combined with a bitmap or.
+create extension if not exists pg_trgm;
+
+create index idx_user_username_trgm on users using gin (lower(username) gin_trgm_ops);
+create index idx_user_email_trgm on users using gin (lower(email) gin_trgm_ops);
+create index idx_user_firstname_trgm on users using gin (lower(firstname) gin_trgm_ops);
+create index idx_user_lastname_trgm on users using gin (lower(lastname) gin_trgm_ops);
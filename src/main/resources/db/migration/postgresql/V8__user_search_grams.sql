@@ -0,0 +1,18 @@
+-- Admin user search: trigrams of username, email, first and last name, maintained by the application
+-- (SearchGrams). A search looks its candidates up by one gram on (gram, user_id), prefix and infix alike,
+-- the same plan as on MySQL. Existing users get their grams from V8_1__Backfill_user_search_grams.
+create table user_search_grams (
+    user_id bigint not null,
+    gram varchar(6) not null,
+    primary key (user_id, gram),
+    constraint fk_user_search_grams_user foreign key (user_id) references users (id)
+);
+
+create index idx_user_search_gram on user_search_grams (gram, user_id);
+
+-- Replaced by the grams, the like patterns only filter the candidates now
+drop index idx_user_lastname_lower;
+drop index idx_user_username_trgm;
+drop index idx_user_email_trgm;
+drop index idx_user_firstname_trgm;
+drop index idx_user_lastname_trgm;
@@ -0,0 +1,90 @@
+package org.viators.personalfinanceapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.viators.personalfinanceapp.annotations.RetryOnConflict;
+import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RetryOnConflictInterceptor Unit Test")
+public class RetryOnConflictInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("invoke - conflicts then succeeds - re-runs the method and counts the recovery")
+    void invoke_TransientConflict_Recovers() {
+        PreferencesUpdater target = new PreferencesUpdater(2, null);
+
+        String result = proxy(target).update();
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(target.calls).isEqualTo(3);
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("recovered")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invoke - conflicts on every attempt - gives up after maxAttempts")
+    void invoke_PersistentConflict_Aborts() {
+        PreferencesUpdater target = new PreferencesUpdater(Integer.MAX_VALUE, null);
+
+        assertThatThrownBy(() -> proxy(target).update())
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(target.calls).isEqualTo(3);
+        assertThat(count("aborted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invoke - other failure - not retried")
+    void invoke_OtherFailure_NotRetried() {
+        PreferencesUpdater target = new PreferencesUpdater(0, new ResourceNotFoundException("No such user in system."));
+
+        assertThatThrownBy(() -> proxy(target).update())
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(target.calls).isEqualTo(1);
+        assertThat(meterRegistry.find("db.conflict.retries").counters()).isEmpty();
+    }
+
+    private PreferencesUpdater proxy(PreferencesUpdater target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new RetryOnConflictInterceptor(() -> meterRegistry));
+        return (PreferencesUpdater) proxyFactory.getProxy();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("db.conflict.retries").tag("outcome", outcome).counter().count();
+    }
+
+    static class PreferencesUpdater {
+
+        private final int conflicts;
+        private final RuntimeException failure;
+        int calls;
+
+        PreferencesUpdater(int conflicts, RuntimeException failure) {
+            this.conflicts = conflicts;
+            this.failure = failure;
+        }
+
+        @RetryOnConflict(maxAttempts = 3, backoffMs = 1, maxBackoffMs = 5)
+        public String update() {
+            calls++;
+            if (failure != null) {
+                throw failure;
+            }
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("UserPreferences", 1L);
+            }
+            return "updated";
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.viators.personalfinanceapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.viators.personalfinanceapp.annotations.RetryOnConflict;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The retry advisor as the application registers it, next to a real transaction manager, so the order of the
+ * two advisors is what is tested: every attempt must run in a transaction of its own.
+ */
+@SpringJUnitConfig(RetryOnConflictTransactionTest.Config.class)
+@DisplayName("Retry on conflict with transactions")
+class RetryOnConflictTransactionTest {
+
+    @Autowired private PreferencesWriter preferencesWriter;
+    @Autowired private ProfileWriter profileWriter;
+    @Autowired private CountingTransactionManager transactionManager;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        preferencesWriter.reset(1);
+        transactionManager.reset();
+    }
+
+    @Test
+    @DisplayName("conflict in the outermost transaction - rolled back and re-run in a new transaction")
+    void conflict_OutermostTransaction_RetriedInNewTransaction() {
+        assertThat(preferencesWriter.update()).isEqualTo("updated");
+
+        assertThat(preferencesWriter.transactions()).hasSize(2).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(transactionManager.begun).hasValue(2);
+        assertThat(transactionManager.rolledBack).hasValue(1);
+        assertThat(meterRegistry.get("db.conflict.retries").tag("outcome", "recovered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("conflict while joining an outer transaction - not retried, the outer transaction fails")
+    void conflict_JoinedTransaction_NotRetried() {
+        assertThatThrownBy(() -> profileWriter.updateWithPreferences())
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(preferencesWriter.transactions()).hasSize(1);
+        assertThat(transactionManager.begun).hasValue(1);
+        assertThat(transactionManager.rolledBack).hasValue(1);
+    }
+
+    @Configuration
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @Import(RetryOnConflictConfig.class)
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource("jdbc:h2:mem:retry-on-conflict;DB_CLOSE_DELAY=-1");
+        }
+
+        @Bean
+        CountingTransactionManager transactionManager(DataSource dataSource) {
+            return new CountingTransactionManager(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PreferencesWriter preferencesWriter() {
+            return new PreferencesWriter();
+        }
+
+        @Bean
+        ProfileWriter profileWriter(PreferencesWriter preferencesWriter) {
+            return new ProfileWriter(preferencesWriter);
+        }
+    }
+
+    static class CountingTransactionManager extends DataSourceTransactionManager {
+
+        final AtomicInteger begun = new AtomicInteger();
+        final AtomicInteger rolledBack = new AtomicInteger();
+
+        CountingTransactionManager(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void reset() {
+            begun.set(0);
+            rolledBack.set(0);
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun.incrementAndGet();
+            super.doBegin(transaction, definition);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rolledBack.incrementAndGet();
+            super.doRollback(status);
+        }
+    }
+
+    // Reached through its proxy, so the state is only read and written through methods
+    static class PreferencesWriter {
+
+        private final List<Object> transactions = new ArrayList<>();
+        private int conflicts;
+
+        public void reset(int conflicts) {
+            this.conflicts = conflicts;
+            transactions.clear();
+        }
+
+        // The connection holder of the transaction each attempt ran in
+        public List<Object> transactions() {
+            return transactions;
+        }
+
+        // Fails on the first attempt, as if a concurrent update had bumped the version
+        @Transactional
+        @RetryOnConflict(maxAttempts = 3, backoffMs = 1, maxBackoffMs = 5)
+        public String update() {
+            transactions.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    ? TransactionSynchronizationManager.getResourceMap().values().iterator().next()
+                    : null);
+            if (transactions.size() <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("UserPreferences", 1L);
+            }
+            return "updated";
+        }
+    }
+
+    static class ProfileWriter {
+
+        private final PreferencesWriter preferencesWriter;
+
+        ProfileWriter(PreferencesWriter preferencesWriter) {
+            this.preferencesWriter = preferencesWriter;
+        }
+
+        @Transactional
+        public String updateWithPreferences() {
+            return preferencesWriter.update();
+        }
+    }
+}
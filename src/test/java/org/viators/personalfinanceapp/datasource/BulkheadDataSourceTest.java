@@ -0,0 +1,62 @@
+package org.viators.personalfinanceapp.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.viators.personalfinanceapp.exceptions.DatabaseBusyException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BulkheadDataSource Unit Test")
+public class BulkheadDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 2, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    @DisplayName("getConnection - all permits taken - rejected after the wait")
+    void getConnection_PermitsTaken_Rejected() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead.getConnection();
+        bulkhead.getConnection();
+
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(DatabaseBusyException.class);
+
+        assertThat(meterRegistry.get("db.bulkhead.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.bulkhead.wait").timer().count()).isEqualTo(3);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("close - closed twice - frees its permit once")
+    void close_ClosedTwice_ReleasesOnce() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection first = bulkhead.getConnection();
+        bulkhead.getConnection();
+        first.close();
+        first.close();
+
+        assertThat(meterRegistry.get("db.bulkhead.available").gauge().value()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("getConnection - pool fails - permit is given back")
+    void getConnection_PoolFails_ReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(meterRegistry.get("db.bulkhead.available").gauge().value()).isEqualTo(2);
+    }
+}
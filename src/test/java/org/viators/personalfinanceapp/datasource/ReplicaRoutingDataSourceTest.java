@@ -0,0 +1,193 @@
+package org.viators.personalfinanceapp.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.viators.personalfinanceapp.config.ReplicaRoutingConfig;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.security.AuthenticatedUser;
+import org.viators.personalfinanceapp.security.UserDetailsImpl;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica, each holding a row that names it.
+ * The routing is wired the way {@code ReplicaRoutingConfig} wires it.
+ */
+@DisplayName("ReplicaRoutingDataSource Test")
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    private LazyConnectionDataSourceProxy dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() {
+        wire(new ReplicaProperties(List.of(), ReplicaProperties.Selection.ROUND_ROBIN, 1000, 5000, "", "", 60_000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("read-only transaction - served by the replica, read-write by the primary")
+    void readOnlyTransaction_UsesReplica() {
+        assertThat(readOnly()).isEqualTo("replica");
+        assertThat(readWrite()).isEqualTo("primary");
+        // No transaction at all is not read-only either
+        assertThat(jdbcTemplate.queryForObject("select name from whoami", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("read-only transaction right after the user's write - served by the primary")
+    void readOnlyTransaction_AfterOwnWrite_UsesPrimary() {
+        authenticate("user-1");
+        assertThat(readOnly()).isEqualTo("replica");
+
+        readWrite();
+
+        assertThat(readOnly()).isEqualTo("primary");
+        // Other users are not affected by that write
+        authenticate("user-2");
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("replica further behind than allowed - taken out of rotation")
+    void laggingReplica_UsesPrimary() {
+        wire(new ReplicaProperties(List.of(), ReplicaProperties.Selection.LEAST_CONNECTIONS, 1000, 5000,
+                "select 30", "", 60_000));
+
+        router.checkReplicas();
+
+        assertThat(readOnly()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("replica not checked yet - not used")
+    void uncheckedReplica_UsesPrimary() {
+        ReplicaProperties properties = new ReplicaProperties(List.of(), ReplicaProperties.Selection.ROUND_ROBIN,
+                1000, 5000, "", "", 60_000);
+        ReplicaRoutingDataSource unchecked = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), properties,
+                new ReadYourWritesTracker(Duration.ofMillis(properties.readYourWritesWindowMs())));
+
+        assertThat(unchecked.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("JPA read-write transaction after a read-only one on the same EntityManager - written to the primary")
+    void jpaWriteAfterRead_SameEntityManager_UsesPrimary() {
+        LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactory();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        JpaTransactionManager jpaTransactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        // What open-in-view does: one EntityManager for the whole request, shared by its transactions
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(jpaTransactionManager);
+            readOnly.setReadOnly(true);
+            assertThat(readOnly.execute(status -> entityManager.createNativeQuery("select name from whoami").getSingleResult()))
+                    .isEqualTo("replica");
+
+            new TransactionTemplate(jpaTransactionManager).executeWithoutResult(status -> entityManager
+                    .createNativeQuery("insert into whoami (name) values ('written')")
+                    .executeUpdate());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            factoryBean.destroy();
+        }
+
+        assertThat(written(primary)).isOne();
+        assertThat(written(replica)).isZero();
+    }
+
+    private void wire(ReplicaProperties properties) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(properties.readYourWritesWindowMs()));
+        router = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), properties, tracker);
+        router.afterPropertiesSet();
+
+        dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(router);
+
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(tracker);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select name from whoami", String.class));
+    }
+
+    private String readWrite() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update("update whoami set name = name");
+            return jdbcTemplate.queryForObject("select name from whoami", String.class);
+        });
+    }
+
+    // No entities, native queries are enough; the connection handling is the one ReplicaRoutingConfig sets
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+        Map<String, Object> jpaProperties = new HashMap<>();
+        new ReplicaRoutingConfig().releaseConnectionsAfterTransaction().customize(jpaProperties);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(List.of(), List.of()));
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+
+    private static int written(DataSource database) {
+        return new JdbcTemplate(database).queryForObject("select count(*) from whoami where name = 'written'", Integer.class);
+    }
+
+    private static void authenticate(String userUuid) {
+        UserDetailsImpl principal = new UserDetailsImpl(new AuthenticatedUser(
+                1L, userUuid, userUuid + "@example.com", userUuid, UserRolesEnum.USER, "1", null));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists whoami (name varchar(20))");
+        jdbcTemplate.execute("delete from whoami");
+        jdbcTemplate.update("insert into whoami (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package org.viators.personalfinanceapp.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Basket Unit Test")
+public class BasketTest {
+
+    @Test
+    @DisplayName("addItem/removeItem - keep itemsCount equal to the number of entries")
+    void addAndRemoveItem_KeepsCountInStep() {
+        Basket basket = new Basket();
+        Item milk = new Item();
+        Item bread = new Item();
+
+        basket.addItem(milk);
+        basket.addItem(bread);
+        // Adding the same item again only raises its quantity
+        basket.addItem(milk, BigDecimal.TWO);
+
+        assertThat(basket.getItemsCount()).isEqualTo(2).isEqualTo(basket.getBasketItems().size());
+
+        basket.removeItem(milk);
+        basket.removeItem(milk);
+
+        assertThat(basket.getItemsCount()).isEqualTo(1).isEqualTo(basket.getBasketItems().size());
+    }
+
+    @Test
+    @DisplayName("ShoppingList addItem/removeItem - keep itemsCount equal to the number of entries")
+    void shoppingListAddAndRemoveItem_KeepsCountInStep() {
+        ShoppingList shoppingList = new ShoppingList();
+
+        ShoppingListItem milk = shoppingList.addItem(new Item(), new Store(), BigDecimal.ONE);
+        shoppingList.addItem(new Item(), new Store(), BigDecimal.TEN);
+        shoppingList.removeItem(milk);
+        shoppingList.removeItem(milk);
+
+        assertThat(shoppingList.getItemsCount()).isEqualTo(1).isEqualTo(shoppingList.getShoppingListItems().size());
+    }
+}
@@ -0,0 +1,43 @@
+package org.viators.personalfinanceapp.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SearchGrams Unit Test")
+public class SearchGramsTest {
+
+    @Test
+    @DisplayName("of - lower-cased, padded in front, null and blank values skipped")
+    void of_Values_PaddedTrigrams() {
+        assertThat(SearchGrams.of("Joe", null, " "))
+                .containsExactly("  j", " jo", "joe");
+    }
+
+    @Test
+    @DisplayName("keysFor - prefix and infix terms - every gram of the term, all held by the matching values")
+    void keysFor_Term_GramsOfMatchingValues() {
+        assertThat(SearchGrams.keysFor("John", true)).containsExactly("  j", " jo", "joh", "ohn");
+        assertThat(SearchGrams.keysFor("hnDo", false)).containsExactly("hnd", "ndo");
+        assertThat(SearchGrams.of("johndoe"))
+                .containsAll(SearchGrams.keysFor("J", true))
+                .containsAll(SearchGrams.keysFor("John", true))
+                .containsAll(SearchGrams.keysFor("hnDo", false));
+    }
+
+    @Test
+    @DisplayName("keysFor - infix term shorter than a trigram - rejected")
+    void keysFor_ShortInfix_Throws() {
+        assertThatThrownBy(() -> SearchGrams.keysFor("jo", false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("of - characters outside the BMP - never split")
+    void of_SupplementaryCharacters_WholeCodePoints() {
+        assertThat(SearchGrams.of("a😀b"))
+                .containsExactly("  a", " a😀", "a😀b");
+    }
+}
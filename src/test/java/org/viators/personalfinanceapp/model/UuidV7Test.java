@@ -0,0 +1,42 @@
+package org.viators.personalfinanceapp.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.viators.personalfinanceapp.model.converters.UuidStringConverter;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7 Unit Test")
+public class UuidV7Test {
+
+    @Test
+    @DisplayName("randomUuid - version 7 with the IETF variant")
+    void randomUuid_HasVersionAndVariant() {
+        UUID uuid = UuidV7.randomUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("fromTimestamp - later timestamp - sorts after, also in string form")
+    void fromTimestamp_LaterTimestamp_SortsAfter() {
+        UUID earlier = UuidV7.fromTimestamp(1_700_000_000_000L);
+        UUID later = UuidV7.fromTimestamp(1_700_000_000_001L);
+
+        assertThat(earlier.getMostSignificantBits() >>> 16).isEqualTo(1_700_000_000_000L);
+        assertThat(later.toString()).isGreaterThan(earlier.toString());
+    }
+
+    @Test
+    @DisplayName("UuidStringConverter - round trips valid uuids, maps malformed ones to null")
+    void converter_RoundTrip() {
+        UuidStringConverter converter = new UuidStringConverter();
+        String uuid = UuidV7.randomUuid().toString();
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(uuid))).isEqualTo(uuid);
+        assertThat(converter.convertToDatabaseColumn("not-a-uuid")).isNull();
+    }
+}
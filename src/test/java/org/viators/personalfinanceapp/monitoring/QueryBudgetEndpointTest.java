@@ -0,0 +1,270 @@
+package org.viators.personalfinanceapp.monitoring;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.viators.personalfinanceapp.annotations.QueryBudget;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls every controller method declaring a {@link QueryBudget} through the full filter chain and checks the
+ * statements its scope recorded against the budget. The profile fails a call over its budget, so a request
+ * that went over would already have failed; the counts are read back from the {@code db.statements} summary
+ * of the scope to prove each endpoint was actually measured.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=explain",
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query budgets of the endpoints")
+class QueryBudgetEndpointTest {
+
+    private static final String PASSWORD = "Secret#123";
+    private static final long STORE_ID = 1_000_000L; // Away from the ids the sequence hands out
+
+    private final AtomicInteger users = new AtomicInteger();
+    private final Map<String, Integer> budgets = new TreeMap<>();
+    private final Set<String> measured = new HashSet<>();
+
+    @Autowired private WebApplicationContext context;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private String userUuid;
+    private String userToken;
+    private String adminToken;
+    private String categoryUuid;
+    private String storeUuid;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        budgets.putAll(declaredBudgets(context));
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        userUuid = register("member");
+        userToken = login("member");
+        mockMvc.perform(post("/v1/api/categories/create").header(HttpHeaders.AUTHORIZATION, userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Groceries", "description": "Weekly shopping"}"""))
+                .andExpect(status().isCreated());
+        categoryUuid = jdbcTemplate.queryForObject(
+                "select c.uuid from categories c join users u on u.id = c.user_id where u.uuid = ?", String.class, userUuid);
+
+        // Role set before the first login, the token carries it; the entity caches must not keep the old one
+        register("admin");
+        jdbcTemplate.update("update users set user_role = ? where username = ?", UserRolesEnum.ADMIN.name(), username("admin"));
+        entityManagerFactory.getCache().evictAll();
+        adminToken = login("admin");
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        storeUuid = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                insert into stores (id, uuid, version, created_by, created_at, updated_at, status, store_name, store_type)
+                values (?, ?, 0, 'seed', ?, ?, ?, 'Corner Store', 'SUPERMARKET')""",
+                STORE_ID, storeUuid, now, now, StatusEnum.ACTIVE.getCode());
+    }
+
+    @AfterAll
+    void everyBudgetedEndpointMeasured() {
+        assertThat(measured).containsExactlyInAnyOrderElementsOf(budgets.keySet());
+    }
+
+    @Test
+    @DisplayName("auth - register, login, logout - within their budgets")
+    void auth_WithinBudget() throws Exception {
+        measure("UserController.register", post("/api/user/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(registration("visitor")), status().isCreated());
+        measure("AuthController.login", post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials("visitor")), status().isOk());
+
+        String token = login("visitor");
+        measure("AuthController.logout", post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, token),
+                status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("users - read, details, search, export, update, deactivate - within their budgets")
+    void users_WithinBudget() throws Exception {
+        measure("UserController.getUser", get("/api/user/{uuid}", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("UserController.getUserWithDetails", get("/api/user/{uuid}/details", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("UserController.searchUsers", get("/api/user/search").param("q", "memb")
+                .header(HttpHeaders.AUTHORIZATION, adminToken), status().isOk());
+        measure("UserController.exportUsers", get("/api/user/export")
+                .header(HttpHeaders.AUTHORIZATION, adminToken), status().isOk());
+        measure("UserController.updateUser", put("/api/user/{uuid}/update", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"firstName": "Renamed"}"""), status().isOk());
+
+        String leaverUuid = register("leaver");
+        measure("UserController.deactivateUser", delete("/api/user/{uuid}/deactivate", leaverUuid)
+                .header(HttpHeaders.AUTHORIZATION, login("leaver")), status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("categories - list, slice, scroll, details, create, update - within their budgets")
+    void categories_WithinBudget() throws Exception {
+        measure("CategoryController.getCategories", get("/v1/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("CategoryController.getCategorySlice", get("/v1/api/categories/slice")
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("CategoryController.scrollCategories", get("/v1/api/categories/scroll")
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("CategoryController.getCategoryWithDetails", get("/v1/api/categories/{uuid}", categoryUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("CategoryController.createCategory", post("/v1/api/categories/create")
+                .header(HttpHeaders.AUTHORIZATION, userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name": "Household"}"""), status().isCreated());
+        measure("CategoryController.updateCategory", put("/v1/api/categories/{uuid}", categoryUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"description": "Food and drinks"}"""), status().isOk());
+    }
+
+    @Test
+    @DisplayName("preferences - read, update, reset, favorite stores - within their budgets")
+    void preferences_WithinBudget() throws Exception {
+        measure("UserPreferencesController.getUserPreferences", get("/api/user-preferences/{uuid}", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("UserPreferencesController.updateUserPreferences", put("/api/user-preferences/{uuid}", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"location": "Thessaloniki", "emailAlerts": true}"""), status().isOk());
+        measure("UserPreferencesController.resetToDefault", put("/api/user-preferences/{uuid}/reset", userUuid)
+                .header(HttpHeaders.AUTHORIZATION, userToken), status().isOk());
+        measure("UserPreferencesController.updateFavoriteStores",
+                put("/api/user-preferences/{uuid}/update-favorite-stores", userUuid)
+                        .header(HttpHeaders.AUTHORIZATION, userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"uuid": "%s"}""".formatted(storeUuid)), status().isNoContent());
+    }
+
+    /**
+     * Performs the request and checks the statements recorded for {@code scope}: closed exactly once by it
+     * and within the declared budget.
+     */
+    private void measure(String scope, MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        assertThat(budgets).as("declared budgets").containsKey(scope);
+        long callsBefore = summary(scope) != null ? summary(scope).count() : 0;
+        double statementsBefore = summary(scope) != null ? summary(scope).totalAmount() : 0;
+
+        mockMvc.perform(request).andExpect(expectedStatus);
+
+        DistributionSummary summary = summary(scope);
+        assertThat(summary).as(scope).isNotNull();
+        assertThat(summary.count()).as(scope + " calls").isEqualTo(callsBefore + 1);
+        int statements = (int) (summary.totalAmount() - statementsBefore);
+        assertThat(statements).as(scope + " statements").isLessThanOrEqualTo(budgets.get(scope));
+        measured.add(scope);
+    }
+
+    private DistributionSummary summary(String scope) {
+        return meterRegistry.find("db.statements").tag("scope", scope).summary();
+    }
+
+    private String register(String name) throws Exception {
+        String response = mockMvc.perform(post("/api/user/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registration(name)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.uuid");
+    }
+
+    private String login(String name) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials(name)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + JsonPath.read(response, "$.token");
+    }
+
+    private String registration(String name) {
+        int n = users.incrementAndGet();
+        return """
+                {"username": "%s", "email": "%s", "firstName": "Budget", "lastName": "Tester%d",
+                 "password": "%s", "confirmPassword": "%s", "age": 30}"""
+                .formatted(username(name), email(name), n, PASSWORD, PASSWORD);
+    }
+
+    private String credentials(String name) {
+        return """
+                {"email": "%s", "password": "%s"}""".formatted(email(name), PASSWORD);
+    }
+
+    private static String username(String name) {
+        return "budget-" + name;
+    }
+
+    private static String email(String name) {
+        return name + "@budget.example.com";
+    }
+
+    // "Controller.method" -> budget, for every @QueryBudget handler method
+    private static Map<String, Integer> declaredBudgets(ApplicationContext context) {
+        Map<String, Integer> declared = new TreeMap<>();
+        for (Object controller : context.getBeansWithAnnotation(RestController.class).values()) {
+            Class<?> type = AopUtils.getTargetClass(controller);
+            for (Method method : type.getDeclaredMethods()) {
+                QueryBudget budget = method.getAnnotation(QueryBudget.class);
+                if (budget != null) {
+                    declared.put(type.getSimpleName() + "." + method.getName(), budget.value());
+                }
+            }
+        }
+        return declared;
+    }
+}
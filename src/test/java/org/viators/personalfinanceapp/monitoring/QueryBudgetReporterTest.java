@@ -0,0 +1,64 @@
+package org.viators.personalfinanceapp.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.viators.personalfinanceapp.exceptions.QueryBudgetExceededException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("QueryBudgetReporter Unit Test")
+public class QueryBudgetReporterTest {
+
+    // Large enough that only the repeated statements are reported
+    private static final int NO_BUDGET = Integer.MAX_VALUE;
+
+    private final QueryCounter inspector = new QueryCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryBudgetReporter reporter = new QueryBudgetReporter(meterRegistry, 20, 3, true);
+
+    @Test
+    @DisplayName("close - within budget - passes and records the statement count")
+    void close_WithinBudget_Passes() {
+        QueryScope scope = QueryCounter.open("CategoryService.getCategories", 2);
+        inspector.inspect("select c from categories c where c.user_id=?");
+        inspector.inspect("select count(c.id) from categories c where c.user_id=?");
+
+        reporter.close(scope);
+
+        assertThat(meterRegistry.get("db.statements").summary().totalAmount()).isEqualTo(2);
+        // Statements after the scope closed are not counted anywhere
+        inspector.inspect("select 1");
+        assertThat(scope.statements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("close - same statement repeated - reported as N+1")
+    void close_RepeatedStatement_Fails() {
+        QueryScope request = QueryCounter.open("UserController.getUser", NO_BUDGET);
+        QueryScope call = QueryCounter.open("PriceComparisonService.list", NO_BUDGET);
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select s.store_name from stores s where s.id=?");
+        }
+
+        assertThatThrownBy(() -> reporter.close(call))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("possible N+1, 3 executions");
+        // Nested scopes both see the statements
+        assertThat(request.statements()).isEqualTo(3);
+        request.close();
+    }
+
+    @Test
+    @DisplayName("close - over budget - throws when failing on violations")
+    void close_OverBudget_Fails() {
+        QueryScope scope = QueryCounter.open("UserController.getUser", 1);
+        inspector.inspect("select u from users u where u.uuid=?");
+        inspector.inspect("select p from user_preferences p where p.user_id=?");
+
+        assertThatThrownBy(() -> reporter.close(scope))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("2 statements, budget is 1");
+    }
+}
@@ -0,0 +1,70 @@
+package org.viators.personalfinanceapp.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.viators.personalfinanceapp.exceptions.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.viators.personalfinanceapp.pagination.ScrollCursors.key;
+
+@DisplayName("ScrollCursors Unit Test")
+public class ScrollCursorsTest {
+
+    @Test
+    @DisplayName("encode/decode - keeps key values and their types")
+    void encodeDecode_RoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Food & drinks=50%");
+        keys.put("createdAt", LocalDateTime.of(2026, 3, 1, 12, 30));
+        keys.put("id", 42L);
+
+        String cursor = ScrollCursors.encode(ScrollPosition.forward(keys));
+        ScrollPosition position = ScrollCursors.decode(cursor, key("name", String.class),
+                key("createdAt", LocalDateTime.class), key("id", Long.class));
+
+        assertThat(cursor).doesNotContain("Food");
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) position).getKeys()).isEqualTo(keys);
+    }
+
+    @Test
+    @DisplayName("decode - no cursor - starts at the beginning")
+    void decode_NoCursor_ReturnsInitialPosition() {
+        assertThat(ScrollCursors.decode(null, key("id", Long.class)).isInitial()).isTrue();
+        assertThat(ScrollCursors.decode(" ", key("id", Long.class)).isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("decode - cursor of another listing or garbage - throws InvalidCursorException")
+    void decode_ForeignOrMalformedCursor_ThrowsException() {
+        String cursor = ScrollCursors.encode(ScrollPosition.forward(Map.of("id", 42L)));
+
+        assertThatThrownBy(() -> ScrollCursors.decode(cursor, key("name", String.class), key("id", Long.class)))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> ScrollCursors.decode("not a cursor", key("id", Long.class)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("decode - key value of another type than its property - throws InvalidCursorException")
+    void decode_WrongValueType_ThrowsException() {
+        String cursor = ScrollCursors.encode(ScrollPosition.forward(Map.of("id", "abc")));
+
+        assertThatThrownBy(() -> ScrollCursors.decode(cursor, key("id", Long.class)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("limit - size outside 1..MAX_SIZE - is clamped")
+    void limit_ClampsSize() {
+        assertThat(ScrollCursors.limit(0).max()).isEqualTo(1);
+        assertThat(ScrollCursors.limit(5_000).max()).isEqualTo(ScrollCursors.MAX_SIZE);
+    }
+}
@@ -0,0 +1,159 @@
+package org.viators.personalfinanceapp.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.assertj.core.api.SoftAssertions;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the MySQL migrations on a real MySQL. The application context itself proves the migrated schema
+ * matches the entity mappings, since the profile has Hibernate validate it on startup; the indexes, which
+ * validation ignores, are compared with the {@code @Index} declarations separately. Skipped without Docker.
+ */
+@SpringBootTest(properties = "spring.profiles.active=mysql")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("MySQL migrations")
+class MySqlMigrationTest {
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4").withUsername("root");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired private Flyway flyway;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("migrate - empty database - every migration applied and the schema passes Hibernate validation")
+    void migrate_EmptyDatabase_AllApplied() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .extracting(info -> info.getVersion().getVersion())
+                .startsWith("1", "1.1", "2");
+        assertThat(jdbcTemplate.queryForObject("select next_val from entity_id_seq", Long.class)).isPositive();
+    }
+
+    @Test
+    @DisplayName("@Index declarations - every one exists in the migrated schema on the same columns")
+    void indexDeclarations_PresentInMigratedSchema() {
+        Map<String, List<String>> declared = declaredIndexes();
+        assertThat(declared).isNotEmpty();
+
+        SoftAssertions softly = new SoftAssertions();
+        declared.forEach((tableAndIndex, columns) -> {
+            String[] parts = tableAndIndex.split("\\.");
+            List<String> migrated = jdbcTemplate.queryForList("""
+                    select lower(column_name) from information_schema.statistics
+                    where table_schema = database() and table_name = ? and index_name = ?
+                    order by seq_in_index""", String.class, parts[0], parts[1]);
+            softly.assertThat(migrated).as(tableAndIndex).isEqualTo(columns);
+        });
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("migrate - schema created by Hibernate ddl-auto - baselined at V1 and aligned before V2 runs")
+    void migrate_HibernateCreatedSchema_Baselined() throws Exception {
+        jdbcTemplate.execute("create database legacy");
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                MYSQL.getJdbcUrl().replace("/" + MYSQL.getDatabaseName(), "/legacy"), MYSQL.getUsername(), MYSQL.getPassword());
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+
+        // What ddl-auto left behind before this schema was versioned: the V1 tables except token_revocations,
+        // which came later, no id sequences, generated constraint names, unique lastname
+        try (Connection connection = legacy.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/V1__baseline.sql"));
+        }
+        legacyJdbc.execute("drop table entity_id_seq, token_revocations_seq, token_revocations");
+        legacyJdbc.execute("alter table users rename index uk_users_uuid to UK6dotkott2kjsp8vw4d0m25fb7");
+        legacyJdbc.execute("create unique index UKhr1wn8ik9nk7kdt7eqkmbl5ic on users (lastname)");
+        legacyJdbc.update("""
+                insert into users (id, uuid, version, created_by, created_at, updated_at, status, username, email,
+                                   lastname, password, user_role)
+                values (5000, uuid(), 0, 'seed', now(6), now(6), '1', 'legacy', 'legacy@example.com', 'Doe', 'x', 'USER')""");
+
+        // Same settings as the application, including the baseline ones of the profile and the Java migrations
+        Flyway legacyFlyway = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(legacy)
+                .load();
+        legacyFlyway.migrate();
+
+        MigrationInfo[] applied = legacyFlyway.info().applied();
+        assertThat(applied[0].getType()).isEqualTo(MigrationType.BASELINE);
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+        assertThat(legacyFlyway.info().pending()).isEmpty();
+        assertThat(legacyJdbc.queryForObject("select next_val from entity_id_seq", Long.class)).isGreaterThan(5000L);
+        assertThat(legacyJdbc.queryForList("""
+                select distinct index_name from information_schema.statistics
+                where table_schema = 'legacy' and table_name = 'token_revocations' and index_name <> 'PRIMARY'
+                """, String.class))
+                .containsExactlyInAnyOrder("idx_token_revocation_revoked_at", "idx_token_revocation_expires_at");
+        assertThat(legacyJdbc.queryForObject("""
+                select count(*) from information_schema.statistics
+                where table_schema = 'legacy' and table_name = 'users' and column_name = 'lastname' and non_unique = 0
+                """, Integer.class)).isZero();
+    }
+
+    // "table.index" -> columns, from @Table and @JoinTable; the H2 schema of QueryPlanRegressionTest is built from these
+    private Map<String, List<String>> declaredIndexes() {
+        Map<String, List<String>> indexes = new TreeMap<>();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            if (table != null) {
+                addIndexes(indexes, table.name(), table.indexes());
+            }
+            for (Field field : type.getDeclaredFields()) {
+                JoinTable joinTable = field.getAnnotation(JoinTable.class);
+                if (joinTable != null) {
+                    addIndexes(indexes, joinTable.name(), joinTable.indexes());
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static void addIndexes(Map<String, List<String>> indexes, String table, Index[] declared) {
+        for (Index index : declared) {
+            List<String> columns = Arrays.stream(index.columnList().split(","))
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT).replaceFirst("\\s+(asc|desc)$", ""))
+                    .toList();
+            indexes.put(table + "." + index.name(), columns);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package org.viators.personalfinanceapp.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.common.response.CursorPageResponse;
+import org.viators.personalfinanceapp.model.Category;
+import org.viators.personalfinanceapp.model.SearchGrams;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.pagination.ScrollCursors;
+import org.viators.personalfinanceapp.repository.StatementRecorder.RecordedStatement;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method of the repositories against an embedded H2 database seeded with a few thousand
+ * users, replays each statement they send under {@code EXPLAIN} and fails when the plan scans a table
+ * larger than {@link #MAX_SCANNED_ROWS} or sorts more than that many rows without an index.
+ * <p>
+ * The schema comes from the entity mappings rather than the Flyway migrations, which are vendor specific.
+ * The plans are only meaningful because every {@code @Index} declaration exists in the migrations on the
+ * same columns, which {@link MySqlMigrationTest} checks against a migrated MySQL schema.
+ */
+@SpringBootTest(properties = "spring.profiles.active=explain")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Repository query plans")
+class QueryPlanRegressionTest {
+
+    private static final int MAX_SCANNED_ROWS = 1_000;
+
+    private static final int USERS = 5_000;
+    private static final int STORES = 100;
+    private static final int CATEGORIES_PER_USER = 5;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int ITEMS_PER_BASKET = 3;
+    private static final long ID_OFFSET = 1_000_000L; // Keeps seeded ids away from the ones the sequence hands out
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*PUBLIC\\.(\\w+)\\.tableScan\\s*\\*/");
+
+    // Plans that scan on purpose, with the reason they are acceptable
+    private static final Map<String, String> ALLOWED_SCANS = Map.of(
+            "UserRepository.streamAllSummaries",
+            "the export reads every user on purpose, through a cursor in primary key order",
+            "UserRepository.findAll",
+            "paginated listing, reads the table in primary key order and stops at the page size"
+    );
+
+    private static final StatementRecorder recorder = new StatementRecorder();
+
+    @TestConfiguration
+    static class RecorderConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private BasketRepository basketRepository;
+    @Autowired private StoreRepository storeRepository;
+    @Autowired private UserPreferencesRepository userPreferencesRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DataSource dataSource;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private EntityManager entityManager;
+
+    @BeforeAll
+    void seed() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String active = StatusEnum.ACTIVE.getCode();
+
+        batch("""
+                insert into users (id, uuid, version, created_by, created_at, updated_at, status,
+                                   username, email, firstname, lastname, password, age, user_role)
+                values (?, ?, 0, 'seed', ?, ?, ?, ?, ?, 'First', ?, 'x', 30, ?)""", USERS, i -> new Object[]{
+                userId(i), uuid(1, i), Timestamp.valueOf(LocalDateTime.now().minusMinutes(i)), now, active,
+                "user" + i, email(i), "Last" + i, i % 100 == 0 ? UserRolesEnum.ADMIN.name() : UserRolesEnum.USER.name()});
+        List<Object[]> grams = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            for (String gram : SearchGrams.of("user" + i, email(i), "First", "Last" + i)) {
+                grams.add(new Object[]{userId(i), gram});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into user_search_grams (user_id, gram) values (?, ?)", grams);
+        batch("""
+                insert into stores (id, uuid, version, created_by, created_at, updated_at, status, store_name, store_type)
+                values (?, ?, 0, 'seed', ?, ?, ?, ?, 'SUPERMARKET')""", STORES, i -> new Object[]{
+                ID_OFFSET + i, uuid(2, i), now, now, active, "Store " + i});
+        batch("""
+                insert into user_preferences (id, uuid, version, created_by, created_at, updated_at, status,
+                                              currency, language, location, notification_enabled, email_alerts, user_id)
+                values (?, ?, 0, 'seed', ?, ?, ?, 'EUR', 'ENGLISH', 'Athens', false, false, ?)""", USERS, i -> new Object[]{
+                ID_OFFSET + i, uuid(3, i), now, now, active, userId(i)});
+        batch("insert into user_preferred_stores (user_preference_id, store_id) values (?, ?)", USERS, i -> new Object[]{
+                ID_OFFSET + i, ID_OFFSET + i % STORES});
+        batch("""
+                insert into categories (id, uuid, version, created_by, created_at, updated_at, status,
+                                        category_name, user_id)
+                values (?, ?, 0, 'seed', ?, ?, ?, ?, ?)""", USERS * CATEGORIES_PER_USER, i -> new Object[]{
+                categoryId(i), uuid(4, i), now, now, active, "Category " + i % CATEGORIES_PER_USER,
+                userId(i / CATEGORIES_PER_USER)});
+        batch("""
+                insert into items (id, uuid, version, created_by, created_at, updated_at, status, name, user_id, category_id)
+                values (?, ?, 0, 'seed', ?, ?, ?, ?, ?, ?)""", USERS * ITEMS_PER_USER, i -> new Object[]{
+                itemId(i), uuid(5, i), now, now, active, "Item " + i, userId(i / ITEMS_PER_USER),
+                categoryId(i / ITEMS_PER_USER * CATEGORIES_PER_USER + i % CATEGORIES_PER_USER)});
+        batch("""
+                insert into baskets (id, uuid, version, created_by, created_at, updated_at, status, name, is_default,
+                                     items_count, user_id)
+                values (?, ?, 0, 'seed', ?, ?, ?, 'Weekly', true, ?, ?)""", USERS, i -> new Object[]{
+                basketId(i), uuid(6, i), now, now, active, ITEMS_PER_BASKET, userId(i)});
+        batch("""
+                insert into baskets_items (id, uuid, version, created_by, created_at, updated_at, status,
+                                           basket_id, item_id, quantity)
+                values (?, ?, 0, 'seed', ?, ?, ?, ?, ?, 1)""", USERS * ITEMS_PER_BASKET, i -> new Object[]{
+                ID_OFFSET + i, uuid(7, i), now, now, active, basketId(i / ITEMS_PER_BASKET),
+                itemId(i / ITEMS_PER_BASKET * ITEMS_PER_USER + i % ITEMS_PER_BASKET)});
+
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        int user = USERS / 2;
+        String userUuid = uuid(1, user).toString();
+        Long userId = userId(user);
+        String categoryUuid = uuid(4, user * CATEGORIES_PER_USER).toString();
+        String active = StatusEnum.ACTIVE.getCode();
+        LocalDateTime now = LocalDateTime.now();
+
+        return Stream.of(
+                query("UserRepository.findByEmail", () -> userRepository.findByEmail(email(user))),
+                query("UserRepository.findByUuid", () -> userRepository.findByUuid(userUuid)),
+                query("UserRepository.existsByEmail", () -> userRepository.existsByEmail(email(user))),
+                query("UserRepository.existsByUsername", () -> userRepository.existsByUsername("user" + user)),
+                query("UserRepository.findByUuidAndStatus", () -> userRepository.findByUuidAndStatus(userUuid, active)),
+                query("UserRepository.findIdByUuid", () -> userRepository.findIdByUuid(userUuid)),
+                query("UserRepository.countAllByUserRoleAndStatus",
+                        () -> userRepository.countAllByUserRoleAndStatus(UserRolesEnum.ADMIN, active)),
+                query("UserRepository.searchUsers", () -> search("ast25")),
+                query("UserRepository.searchUsers (common trailing gram)", () -> search("25@example.com")),
+                query("UserRepository.findUsersCreatedBetweenDates",
+                        () -> userRepository.findUsersCreatedBetweenDates(now.minusMinutes(30), now)),
+                query("UserRepository.findAll", () -> userRepository.findAll(PageRequest.of(0, 20))),
+                query("UserRepository.streamAllSummaries", () -> {
+                    try (Stream<?> users = userRepository.streamAllSummaries()) {
+                        users.limit(10).forEach(user -> { });
+                    }
+                }),
+                query("UserRepository.findAllBy (slice)", () -> userRepository.findAllBy(PageRequest.of(0, 20))),
+                query("UserRepository.findAllBy (keyset, deep)", () -> userRepository.findAllBy(
+                        ScrollPosition.forward(Map.of("id", userId(USERS - 30))), Limit.of(20), Sort.by("id"))),
+
+                query("CategoryRepository.findByUuid", () -> categoryRepository.findByUuid(categoryUuid)),
+                query("CategoryRepository.existsByNameAndUser_IdAndStatus",
+                        () -> categoryRepository.existsByNameAndUser_IdAndStatus("Category 1", userId, active)),
+                query("CategoryRepository.findByUser_Id",
+                        () -> categoryRepository.findByUser_Id(userId, PageRequest.of(0, 20), Category.class)),
+                query("CategoryRepository.findByUser_Id (projection)",
+                        () -> categoryRepository.findByUser_Id(userId, PageRequest.of(0, 20), CategorySummaryResponse.class)),
+                query("CategoryRepository.findSliceByUser_Id (projection)",
+                        () -> categoryRepository.findSliceByUser_Id(userId, PageRequest.of(0, 20), CategorySummaryResponse.class)),
+                query("CategoryRepository.findByUser_Id (keyset)", () -> categoryRepository.findByUser_Id(
+                        userId, ScrollPosition.keyset(), Limit.of(2), Sort.by("name", "id"), CategorySummaryResponse.class)),
+                query("CategoryRepository.findByUser_Id (keyset, continued)", () -> categoryRepository.findByUser_Id(
+                        userId, ScrollPosition.forward(Map.of("name", "Category 2", "id", categoryId(user * CATEGORIES_PER_USER + 2))),
+                        Limit.of(2), Sort.by("name", "id"), CategorySummaryResponse.class)),
+                query("CategoryRepository.findCategoryWithRelationships",
+                        () -> categoryRepository.findCategoryWithRelationships(userId, categoryUuid)),
+
+                query("BasketRepository.findByUser_Id", () -> basketRepository.findByUser_Id(userId(user))),
+                query("BasketRepository.findByUser_IdAndName",
+                        () -> basketRepository.findByUser_IdAndName(userId(user), "Weekly")),
+                query("BasketRepository.findBasketWithItems", () -> basketRepository.findBasketWithItems(basketId(user))),
+
+                query("StoreRepository.findByUuid", () -> storeRepository.findByUuid(uuid(2, 7).toString())),
+
+                query("UserPreferencesRepository.findByUser_Id", () -> userPreferencesRepository.findByUser_Id(userId))
+        );
+    }
+
+    @Test
+    @DisplayName("CategoryRepository.findByUser_Id (projection) - adds nothing to the persistence context")
+    void categoryProjection_LoadsNoEntities() {
+        Long userId = userId(USERS / 2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Page<CategorySummaryResponse> page = categoryRepository.findByUser_Id(
+                    userId, PageRequest.of(0, 20), CategorySummaryResponse.class);
+
+            assertThat(page.getContent()).hasSize(CATEGORIES_PER_USER);
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("CategoryRepository.findByUser_Id (keyset projection) - continues from the cursor, adds nothing to the persistence context")
+    void categoryKeysetProjection_ContinuesFromCursor() {
+        Long userId = userId(USERS / 2);
+        Sort sort = Sort.by("name", "id");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            CursorPageResponse<CategorySummaryResponse> first = CursorPageResponse.from(categoryRepository.findByUser_Id(
+                    userId, ScrollPosition.keyset(), Limit.of(2), sort, CategorySummaryResponse.class));
+            Window<CategorySummaryResponse> next = categoryRepository.findByUser_Id(
+                    userId, ScrollCursors.decode(first.nextCursor(),
+                            ScrollCursors.key("name", String.class), ScrollCursors.key("id", Long.class)), Limit.of(2), sort, CategorySummaryResponse.class);
+
+            assertThat(first.content()).extracting(CategorySummaryResponse::name).containsExactly("Category 0", "Category 1");
+            assertThat(next.getContent()).extracting(CategorySummaryResponse::name).containsExactly("Category 2", "Category 3");
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("UserRepository.searchUsers - term ending in a gram every user holds - candidates narrowed by the other grams")
+    void searchUsers_CommonTrailingGram_FewCandidates() {
+        Set<String> grams = SearchGrams.keysFor("25@example.com", false);
+        String holders = "select count(distinct user_id) from user_search_grams where gram = ?";
+        String candidates = """
+                select count(*) from (select user_id from user_search_grams where gram in (%s)
+                group by user_id having count(*) = ?)""".formatted(String.join(", ", Collections.nCopies(grams.size(), "?")));
+        List<Object> arguments = new ArrayList<>(grams);
+        arguments.add(grams.size());
+
+        assertThat(jdbcTemplate.queryForObject(holders, Long.class, "com")).isEqualTo(USERS);
+        assertThat(jdbcTemplate.queryForObject(candidates, Long.class, arguments.toArray())).isEqualTo(USERS / 100);
+        transactionTemplate.executeWithoutResult(status -> assertThat(search("25@example.com").getContent())
+                .hasSize(USERS / 100)
+                .allSatisfy(user -> assertThat(user.getEmail()).endsWith("25@example.com")));
+    }
+
+    private Slice<User> search(String term) {
+        Set<String> grams = SearchGrams.keysFor(term, false);
+        return userRepository.searchUsers(grams, grams.size(), "%" + term + "%", PageRequest.of(0, USERS));
+    }
+
+    private DynamicTest query(String name, Runnable call) {
+        return DynamicTest.dynamicTest(name, () -> {
+            List<RecordedStatement> statements;
+            // Cold second-level cache, so lookups served by it in production are planned here too
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+            recorder.start();
+            try {
+                // One transaction so that lazy loads triggered by the call are recorded too
+                transactionTemplate.executeWithoutResult(status -> call.run());
+            } finally {
+                statements = recorder.stop();
+            }
+            assertThat(statements).as("statements sent by %s", name).isNotEmpty();
+
+            List<String> violations = new ArrayList<>();
+            for (RecordedStatement statement : statements) {
+                violations.addAll(violations(name, statement));
+            }
+            assertThat(violations).as("query plans of %s", name).isEmpty();
+        });
+    }
+
+    private List<String> violations(String name, RecordedStatement statement) throws Exception {
+        List<String> violations = new ArrayList<>();
+        // Plain JDBC on the unwrapped pool, so the replay is not recorded itself
+        try (Connection connection = dataSource.unwrap(DataSource.class).getConnection()) {
+            String plan = explain(connection, statement);
+
+            Matcher scan = TABLE_SCAN.matcher(plan);
+            while (scan.find()) {
+                long rows = rowCount(scan.group(1));
+                if (rows > MAX_SCANNED_ROWS && !ALLOWED_SCANS.containsKey(name)) {
+                    violations.add("full scan of %s (%d rows):%n%s".formatted(scan.group(1), rows, plan));
+                }
+            }
+
+            if (statement.sql().toLowerCase(Locale.ROOT).contains(" order by ") && !plan.contains("index sorted")) {
+                long sorted = resultSize(connection, statement);
+                if (sorted > MAX_SCANNED_ROWS) {
+                    violations.add("sort of %d rows without an index:%n%s".formatted(sorted, plan));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static String explain(Connection connection, RecordedStatement statement) throws Exception {
+        try (PreparedStatement explain = statement.prepare(connection, "explain ");
+             ResultSet plan = explain.executeQuery()) {
+            StringBuilder text = new StringBuilder();
+            while (plan.next()) {
+                text.append(plan.getString(1)).append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    private static long resultSize(Connection connection, RecordedStatement statement) throws Exception {
+        try (PreparedStatement query = statement.prepare(connection, "");
+             ResultSet rows = query.executeQuery()) {
+            long count = 0;
+            while (rows.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private long rowCount(String table) {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private void batch(String sql, int rows, IntFunction<Object[]> row) {
+        jdbcTemplate.batchUpdate(sql, IntStream.range(0, rows).mapToObj(row).toList());
+    }
+
+    private static long userId(int i) {
+        return ID_OFFSET + i;
+    }
+
+    private static long categoryId(int i) {
+        return 2 * ID_OFFSET + i;
+    }
+
+    private static long itemId(int i) {
+        return 3 * ID_OFFSET + i;
+    }
+
+    private static long basketId(int i) {
+        return 4 * ID_OFFSET + i;
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    // Deterministic, distinct per table, valid version 7 layout
+    private static UUID uuid(int table, int i) {
+        return new UUID(0x0190_0000_0000_7000L | (long) table << 32, 0x8000_0000_0000_0000L | i);
+    }
+}
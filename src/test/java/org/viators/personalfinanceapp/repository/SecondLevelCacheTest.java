@@ -0,0 +1,130 @@
+package org.viators.personalfinanceapp.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.viators.personalfinanceapp.model.Store;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads stores with the second-level cache warm and cold and compares what reaches the database, read
+ * from the Hibernate statistics. Runs on its own embedded database and cache region names so it does not
+ * share state with the other Spring tests.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=explain",
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=cache-test"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Second-level cache")
+class SecondLevelCacheTest {
+
+    private static final long STORE_ID = 1_000_000L;
+    private static final String STORE_UUID = UUID.randomUUID().toString();
+
+    @Autowired private StoreRepository storeRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        // Straight through JDBC, the auditor needs an authenticated user for created_by
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                insert into stores (id, uuid, version, created_by, created_at, updated_at, status, store_name, store_type)
+                values (?, ?, 0, 'seed', ?, ?, ?, 'Corner Shop', 'SUPERMARKET')""",
+                STORE_ID, STORE_UUID, now, now, StatusEnum.ACTIVE.getCode());
+
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @BeforeEach
+    void resetCache() {
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findById - second load in a new session - served from the cache without SQL")
+    void findById_CacheWarm_SendsNoStatement() {
+        loadById();
+        assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+        long statementsCold = statistics.getPrepareStatementCount();
+
+        loadById();
+
+        assertThat(statementsCold).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsCold);
+    }
+
+    @Test
+    @DisplayName("findById - region evicted - goes back to the database")
+    void findById_RegionEvicted_SendsStatement() {
+        loadById();
+        sessionFactory.getCache().evictEntityData(Store.class);
+
+        loadById();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("update through Hibernate - cached entry replaced - next load sees the change")
+    void update_CachedStore_NextLoadSeesChange() {
+        loadById();
+
+        transactionTemplate.executeWithoutResult(status ->
+                storeRepository.findById(STORE_ID).orElseThrow().setName("Corner Shop 24/7"));
+        long statementsAfterUpdate = statistics.getPrepareStatementCount();
+
+        Store store = loadById();
+
+        assertThat(store.getName()).isEqualTo("Corner Shop 24/7");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterUpdate);
+    }
+
+    @Test
+    @DisplayName("findByUuid - second load - resolved and loaded from the cache")
+    void findByUuid_CacheWarm_SendsNoStatement() {
+        loadByUuid();
+        long statementsCold = statistics.getPrepareStatementCount();
+
+        Store store = loadByUuid();
+
+        assertThat(store.getId()).isEqualTo(STORE_ID);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsCold);
+    }
+
+    private Store loadById() {
+        return transactionTemplate.execute(status -> storeRepository.findById(STORE_ID).orElseThrow());
+    }
+
+    private Store loadByUuid() {
+        return transactionTemplate.execute(status -> storeRepository.findByUuid(STORE_UUID).orElseThrow());
+    }
+}
@@ -0,0 +1,103 @@
+package org.viators.personalfinanceapp.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wraps a {@link DataSource} and, while recording, keeps every select sent through a prepared statement
+ * together with the parameter setters that were called on it, so the exact statement can be replayed
+ * under {@code EXPLAIN} afterwards.
+ */
+class StatementRecorder {
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private volatile boolean recording;
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                method.getName().equals("getConnection") ? wrapConnection((Connection) result) : result);
+    }
+
+    synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    synchronized List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().equals("prepareStatement")
+                        ? wrapStatement((String) args[0], (PreparedStatement) result)
+                        : result);
+    }
+
+    private PreparedStatement wrapStatement(String sql, PreparedStatement statement) {
+        Map<Integer, ParameterSetter> parameters = new TreeMap<>();
+
+        return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, new ParameterSetter(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && recording
+                    && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                synchronized (this) {
+                    statements.add(new RecordedStatement(sql, List.copyOf(parameters.values())));
+                }
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return handler.handle(method, args, result);
+        };
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    record ParameterSetter(Method method, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws Exception {
+            method.invoke(statement, args);
+        }
+    }
+
+    record RecordedStatement(String sql, List<ParameterSetter> parameters) {
+
+        PreparedStatement prepare(Connection connection, String prefix) throws Exception {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (ParameterSetter parameter : parameters) {
+                parameter.applyTo(statement);
+            }
+            return statement;
+        }
+    }
+}
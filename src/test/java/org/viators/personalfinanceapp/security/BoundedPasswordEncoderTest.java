@@ -0,0 +1,83 @@
+package org.viators.personalfinanceapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.viators.personalfinanceapp.exceptions.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder Unit Test")
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    // Blocks until released, standing in for a slow BCrypt
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("encode - pool idle - delegates and records latency")
+    void encode_PoolIdle_Delegates() {
+        release.countDown();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed-secret");
+        assertThat(encoder.matches("secret", "hashed-secret")).isTrue();
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("encode - pool and queue saturated - rejects immediately with 429")
+    void encode_Saturated_ThrowsTooManyRequests() throws InterruptedException {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // One request occupies the only thread, the second one fills the queue
+        callers.submit(() -> encoder.encode("first"));
+        callers.submit(() -> encoder.encode("second"));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.depth").gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
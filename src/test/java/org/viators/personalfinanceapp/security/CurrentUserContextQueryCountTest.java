@@ -0,0 +1,151 @@
+package org.viators.personalfinanceapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.viators.personalfinanceapp.config.SpringSecurityAuditorAware;
+import org.viators.personalfinanceapp.dto.category.request.CreateCategoryRequest;
+import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.UuidV7;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.monitoring.QueryCounter;
+import org.viators.personalfinanceapp.monitoring.QueryScope;
+import org.viators.personalfinanceapp.repository.CategoryRepository;
+import org.viators.personalfinanceapp.repository.UserRepository;
+import org.viators.personalfinanceapp.service.CategoryService;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements Hibernate actually sends, through the {@link QueryCounter} statement inspector,
+ * while the request-scoped context resolves users. The context is built by hand since a JPA slice has no
+ * request scope; one instance stands for one request.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=explain",
+        "spring.datasource.url=jdbc:h2:mem:current-user-context;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SpringSecurityAuditorAware.class)
+@DisplayName("CurrentUserContext query count")
+class CurrentUserContextQueryCountTest {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+
+    private CurrentUserContext currentUserContext;
+    private User caller;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        caller = user("johndoe");
+        authenticate(AuthenticatedUser.from(caller));
+        entityManager.persist(caller);
+        otherUser = user("janedoe");
+        entityManager.persist(otherUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Refresh the principal with the generated id, as the token would carry it
+        authenticate(AuthenticatedUser.from(caller));
+        currentUserContext = new CurrentUserContext(entityManager, userRepository,
+                new UserIdResolver(userRepository, new SimpleMeterRegistry(), 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("create category - caller as owner - no statement touches the users table")
+    void createCategory_Caller_NoUserStatement() {
+        CategoryService categoryService = new CategoryService(categoryRepository, currentUserContext);
+
+        QueryScope scope = count(() -> {
+            CategorySummaryResponse created = categoryService.create(caller.getUuid(),
+                    new CreateCategoryRequest("Groceries", "Weekly shopping"));
+            entityManager.flush();
+            return created;
+        });
+
+        assertThat(userStatements(scope)).isZero();
+        // The duplicate check and the insert
+        assertThat(scope.statements()).isEqualTo(2);
+        entityManager.clear();
+        assertThat(categoryRepository.findAll())
+                .extracting(category -> category.getUser().getId())
+                .containsExactly(caller.getId());
+    }
+
+    @Test
+    @DisplayName("findActiveUser - other user asked for twice in one request - loaded with one statement")
+    void findActiveUser_OtherUserTwice_OneStatement() {
+        QueryScope scope = count(() -> {
+            currentUserContext.findActiveUser(otherUser.getUuid());
+            return currentUserContext.findActiveUser(otherUser.getUuid());
+        });
+
+        assertThat(scope.statements()).isEqualTo(1);
+        assertThat(userStatements(scope)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("userId - caller and an already resolved user - no statement")
+    void userId_CallerAndResolvedUser_NoStatement() {
+        currentUserContext.userId(otherUser.getUuid());
+
+        QueryScope scope = count(() -> {
+            currentUserContext.userId(caller.getUuid());
+            return currentUserContext.userId(otherUser.getUuid());
+        });
+
+        assertThat(scope.statements()).isZero();
+    }
+
+    private QueryScope count(Supplier<?> work) {
+        try (QueryScope scope = QueryCounter.open("current-user-context", Integer.MAX_VALUE)) {
+            work.get();
+            return scope;
+        }
+    }
+
+    private static int userStatements(QueryScope scope) {
+        return scope.repeatedStatements(1).entrySet().stream()
+                .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).contains(" users "))
+                .mapToInt(entry -> entry.getValue())
+                .sum();
+    }
+
+    private static void authenticate(AuthenticatedUser user) {
+        UserDetailsImpl principal = new UserDetailsImpl(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static User user(String username) {
+        // The uuid is set up front, the auditor records the caller's uuid as created_by
+        return User.builder()
+                .uuid(UuidV7.randomUuid().toString())
+                .username(username)
+                .email(username + "@example.com")
+                .password("encrypted")
+                .userRole(UserRolesEnum.USER)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package org.viators.personalfinanceapp.security;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUserContext Unit Test")
+public class CurrentUserContextTest {
+
+    private static final String CALLER_UUID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String OTHER_UUID = "550e8400-e29b-41d4-a716-446655440001";
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserIdResolver userIdResolver;
+
+    @InjectMocks
+    private CurrentUserContext currentUserContext;
+
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        AuthenticatedUser caller = new AuthenticatedUser(1L, CALLER_UUID, "john@example.com", "johndoe",
+                UserRolesEnum.USER, StatusEnum.ACTIVE.getCode(), null);
+        UserDetailsImpl principal = new UserDetailsImpl(caller);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        otherUser = User.builder()
+                .id(2L)
+                .uuid(OTHER_UUID)
+                .username("janedoe")
+                .email("jane@example.com")
+                .password("encrypted")
+                .firstName("Jane")
+                .lastName("Doe")
+                .userRole(UserRolesEnum.USER)
+                .status(StatusEnum.ACTIVE.getCode())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("userId - authenticated caller - taken from the token")
+    void userId_Caller_NotResolved() {
+        assertThat(currentUserContext.userId(CALLER_UUID)).contains(1L);
+        verifyNoInteractions(userIdResolver);
+    }
+
+    @Test
+    @DisplayName("userId - other user - resolved through the process-wide map")
+    void userId_OtherUser_Resolved() {
+        when(userIdResolver.resolve(OTHER_UUID)).thenReturn(Optional.of(2L));
+
+        assertThat(currentUserContext.userId(OTHER_UUID)).contains(2L);
+    }
+
+    @Test
+    @DisplayName("getUserReference - authenticated caller - no query")
+    void getUserReference_Caller_NoQuery() {
+        User reference = User.builder().id(1L).build();
+        when(entityManager.getReference(User.class, 1L)).thenReturn(reference);
+
+        Optional<User> result = currentUserContext.getUserReference(CALLER_UUID);
+
+        assertThat(result).containsSame(reference);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("findActiveUser - called twice in a request - one query")
+    void findActiveUser_CalledTwice_SingleQuery() {
+        when(userRepository.findByUuidAndStatus(OTHER_UUID, StatusEnum.ACTIVE.getCode()))
+                .thenReturn(Optional.of(otherUser));
+        when(entityManager.contains(otherUser)).thenReturn(true);
+
+        assertThat(currentUserContext.findActiveUser(OTHER_UUID)).containsSame(otherUser);
+        assertThat(currentUserContext.findActiveUser(OTHER_UUID)).containsSame(otherUser);
+        assertThat(currentUserContext.getUserReference(OTHER_UUID)).containsSame(otherUser);
+
+        verify(userRepository, times(1)).findByUuidAndStatus(OTHER_UUID, StatusEnum.ACTIVE.getCode());
+    }
+
+    @Test
+    @DisplayName("findActiveUser - deactivated earlier in the request - empty")
+    void findActiveUser_DeactivatedInRequest_Empty() {
+        when(userRepository.findByUuidAndStatus(OTHER_UUID, StatusEnum.ACTIVE.getCode()))
+                .thenReturn(Optional.of(otherUser));
+        when(entityManager.contains(otherUser)).thenReturn(true);
+
+        currentUserContext.findActiveUser(OTHER_UUID);
+        otherUser.setStatus(StatusEnum.INACTIVE.getCode());
+
+        assertThat(currentUserContext.findActiveUser(OTHER_UUID)).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package org.viators.personalfinanceapp.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtUtil Unit Test")
+public class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-minimum-32-characters-long-for-hmac";
+
+    private JwtUtil jwtUtil;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000L, 100);
+
+        testUser = User.builder()
+                .id(1L)
+                .uuid("550e8400-e29b-41d4-a716-446655440000")
+                .username("johndoe")
+                .email("john@example.com")
+                .password("encrypted")
+                .firstName("John")
+                .lastName("Doe")
+                .userRole(UserRolesEnum.USER)
+                .status(StatusEnum.ACTIVE.getCode())
+                .build();
+    }
+
+    @Test
+    @DisplayName("verify - valid token - returns all claims from a single parse")
+    void verify_ValidToken_ReturnsClaims() {
+        long before = System.currentTimeMillis();
+        String token = jwtUtil.generateToken(testUser);
+        long after = System.currentTimeMillis();
+
+        Optional<VerifiedClaims> claims = jwtUtil.verify(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().email()).isEqualTo("john@example.com");
+        assertThat(claims.get().userUuid()).isEqualTo(testUser.getUuid());
+        assertThat(claims.get().role()).isEqualTo("USER");
+        // Issue time keeps its milliseconds (iatMs), iat alone would be truncated to the second
+        assertThat(claims.get().issuedAt().toEpochMilli()).isBetween(before, after);
+        // Second call is answered from the verified-token cache with the same instance
+        assertThat(jwtUtil.verify(token)).containsSame(claims.get());
+    }
+
+    @Test
+    @DisplayName("verify - tampered token - returns empty")
+    void verify_TamperedToken_ReturnsEmpty() {
+        String token = jwtUtil.generateToken(testUser);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replacement + token.substring(signatureStart + 1);
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.isTokenValid(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("verify - token signed with another key - returns empty")
+    void verify_ForeignKey_ReturnsEmpty() {
+        JwtUtil otherIssuer = new JwtUtil("another-secret-key-minimum-32-characters-long!!", 60_000L, 100);
+        String token = otherIssuer.generateToken(testUser);
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify - expired token - returns empty")
+    void verify_ExpiredToken_ReturnsEmpty() {
+        JwtUtil expiredIssuer = new JwtUtil(SECRET, -1_000L, 100);
+        String token = expiredIssuer.generateToken(testUser);
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+        assertThat(jwtUtil.isTokenExpired(token)).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package org.viators.personalfinanceapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.viators.personalfinanceapp.exceptions.TooManyRequestsException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginThrottle Unit Test")
+public class LoginThrottleTest {
+
+    private static final int MAX_TRACKED_KEYS = 50;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Refill of one per minute keeps the buckets from refilling while the test runs
+    private final LoginThrottle loginThrottle = new LoginThrottle(meterRegistry, 5, 1, 20, 1, MAX_TRACKED_KEYS);
+
+    @Test
+    @DisplayName("checkAllowed - email capacity used up - only that email is throttled")
+    void checkAllowed_EmailExhausted_OtherEmailsAllowed() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.checkAllowed("john@example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(" John@Example.com ", "10.0.0.9"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatNoException().isThrownBy(() -> loginThrottle.checkAllowed("jane@example.com", "10.0.0.9"));
+        assertThat(throttled("email")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("checkAllowed - ip capacity used up across emails - that ip is throttled, others are not")
+    void checkAllowed_IpExhausted_OtherIpsAllowed() {
+        for (int i = 0; i < 20; i++) {
+            loginThrottle.checkAllowed("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("fresh@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatNoException().isThrownBy(() -> loginThrottle.checkAllowed("fresh@example.com", "203.0.113.8"));
+        assertThat(throttled("ip")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("checkAllowed - random emails sprayed past the key limit - store stays bounded and other users are unaffected")
+    void checkAllowed_EmailSpray_BoundedAndNotShared() {
+        for (int i = 0; i < MAX_TRACKED_KEYS * 20; i++) {
+            loginThrottle.checkAllowed(UUID.randomUUID() + "@example.com", null);
+        }
+
+        assertThat(tracked("email")).isLessThanOrEqualTo(MAX_TRACKED_KEYS);
+        assertThatNoException().isThrownBy(() -> loginThrottle.checkAllowed("john@example.com", null));
+        assertThat(throttled("email")).isZero();
+    }
+
+    private double throttled(String keyType) {
+        return meterRegistry.get("auth.login.throttled").tag("key", keyType).counter().count();
+    }
+
+    private double tracked(String keyType) {
+        return meterRegistry.get("auth.login.throttle.tracked").tag("key", keyType).gauge().value();
+    }
+}
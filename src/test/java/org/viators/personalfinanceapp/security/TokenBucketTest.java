@@ -0,0 +1,44 @@
+package org.viators.personalfinanceapp.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucket Unit Test")
+public class TokenBucketTest {
+
+    // 5 tokens, one more every 12 seconds
+    private static final double REFILL_PER_NANO = 5.0 / TimeUnit.MINUTES.toNanos(1);
+    private static final long START = 1_000L;
+
+    @Test
+    @DisplayName("tryConsume - capacity used up - rejected until a token refills")
+    void tryConsume_Empty_RefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(5, REFILL_PER_NANO, START);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(START)).isTrue();
+        }
+
+        assertThat(bucket.tryConsume(START)).isFalse();
+        assertThat(bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(11))).isFalse();
+        assertThat(bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(13))).isTrue();
+        assertThat(bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(13))).isFalse();
+    }
+
+    @Test
+    @DisplayName("tryConsume - idle for long - refilled to capacity, never above")
+    void tryConsume_LongIdle_RefilledToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, REFILL_PER_NANO, START);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        long muchLater = START + TimeUnit.HOURS.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(muchLater)).isTrue();
+        }
+        assertThat(bucket.tryConsume(muchLater)).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package org.viators.personalfinanceapp.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.viators.personalfinanceapp.model.TokenRevocation;
+import org.viators.personalfinanceapp.repository.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Test")
+public class TokenRevocationServiceTest {
+
+    private static final String USER_UUID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(tokenRevocationRepository, 3_600_000L, 10_000L, 1_000, 0.01);
+        when(tokenRevocationRepository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("isRevoked - token issued just after a revoke all, in the same second - still valid")
+    void isRevoked_IssuedAfterCutoffInSameSecond_NotRevoked() {
+        long cutoff = revokeAll();
+        // One millisecond later, the same second unless the cutoff fell on its last millisecond
+        Instant issuedAt = Instant.ofEpochMilli(cutoff + 1);
+
+        assertThat(tokenRevocationService.isRevoked(claims(issuedAt))).isFalse();
+    }
+
+    @Test
+    @DisplayName("isRevoked - token issued at or before the cutoff - revoked")
+    void isRevoked_IssuedUpToCutoff_Revoked() {
+        long cutoff = revokeAll();
+
+        assertThat(tokenRevocationService.isRevoked(claims(Instant.ofEpochMilli(cutoff)))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(claims(Instant.ofEpochMilli(cutoff - 1)))).isTrue();
+    }
+
+    // Outside a transaction the revocation applies immediately
+    private long revokeAll() {
+        tokenRevocationService.revokeAllTokens(USER_UUID);
+
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(tokenRevocationRepository).save(saved.capture());
+        return saved.getValue().getRevokedAt();
+    }
+
+    private static VerifiedClaims claims(Instant issuedAt) {
+        return new VerifiedClaims(UUID.randomUUID().toString(), "john@example.com", 1L, USER_UUID, "johndoe",
+                "USER", issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
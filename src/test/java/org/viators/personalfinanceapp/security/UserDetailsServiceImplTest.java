@@ -0,0 +1,101 @@
+package org.viators.personalfinanceapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.viators.personalfinanceapp.events.UserChangedEvent;
+import org.viators.personalfinanceapp.events.UserChangedEvent.ChangeType;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
+import org.viators.personalfinanceapp.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsServiceImpl Unit Test")
+public class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "john@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, new SimpleMeterRegistry(), 100, 60);
+        testUser = User.builder()
+                .id(1L)
+                .uuid("550e8400-e29b-41d4-a716-446655440000")
+                .username("johndoe")
+                .email(EMAIL)
+                .password("old-hash")
+                .userRole(UserRolesEnum.USER)
+                .status(StatusEnum.ACTIVE.getCode())
+                .build();
+    }
+
+    @Test
+    @DisplayName("findByEmail - loaded twice - second lookup served from the cache")
+    void findByEmail_Cached_QueriesOnce() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+
+        userDetailsService.findByEmail(EMAIL);
+        Optional<AuthenticatedUser> user = userDetailsService.findByEmail(EMAIL);
+
+        assertThat(user).map(AuthenticatedUser::password).contains("old-hash");
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("onUserChanged - password rehashed - next lookup sees the new hash")
+    void onUserChanged_PasswordRehashed_Evicted() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        userDetailsService.findByEmail(EMAIL);
+
+        testUser.setPassword("new-hash");
+        userDetailsService.onUserChanged(UserChangedEvent.of(testUser, ChangeType.PASSWORD_REHASHED));
+
+        assertThat(userDetailsService.findByEmail(EMAIL)).map(AuthenticatedUser::password).contains("new-hash");
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("onUserChanged - role changed - next lookup sees the new role")
+    void onUserChanged_RoleChanged_Evicted() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        userDetailsService.findByEmail(EMAIL);
+
+        testUser.setUserRole(UserRolesEnum.ADMIN);
+        userDetailsService.onUserChanged(UserChangedEvent.of(testUser, ChangeType.ROLE_CHANGED));
+
+        assertThat(userDetailsService.findByEmail(EMAIL)).map(AuthenticatedUser::isAdmin).contains(true);
+    }
+
+    @Test
+    @DisplayName("onUserChanged - email changed - the previous email is no longer cached")
+    void onUserChanged_EmailChanged_PreviousEmailEvicted() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        userDetailsService.findByEmail(EMAIL);
+
+        testUser.setEmail("johnny@example.com");
+        userDetailsService.onUserChanged(UserChangedEvent.of(testUser, EMAIL, ChangeType.EMAIL_CHANGED));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThat(userDetailsService.findByEmail(EMAIL)).isEmpty();
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
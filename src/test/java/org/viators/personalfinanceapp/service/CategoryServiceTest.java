@@ -11,12 +11,13 @@ import org.viators.personalfinanceapp.dto.category.request.CreateCategoryRequest
 import org.viators.personalfinanceapp.dto.category.request.UpdateCategoryRequest;
 import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
 import org.viators.personalfinanceapp.exceptions.DuplicateResourceException;
+import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
 import org.viators.personalfinanceapp.model.Category;
 import org.viators.personalfinanceapp.model.User;
 import org.viators.personalfinanceapp.model.enums.StatusEnum;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 import org.viators.personalfinanceapp.repository.CategoryRepository;
-import org.viators.personalfinanceapp.repository.UserRepository;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
 
 import java.util.Optional;
 
@@ -32,7 +33,7 @@ public class CategoryServiceTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private CurrentUserContext currentUserContext;
 
     @InjectMocks
     private CategoryService categoryService;
@@ -58,6 +59,8 @@ public class CategoryServiceTest {
 
         category = Category.builder()
                 .uuid("550e8400-e291-41d4-a716-446655440000")
+                .user(testUser)
+                .status(StatusEnum.ACTIVE.getCode())
                 .name("Groceries")
                 .description("Contains fruits and vegetables")
                 .build();
@@ -76,8 +79,8 @@ public class CategoryServiceTest {
     @Test
     void createCategory_ValidRequest_SuccessfulResponse() {
         // Arrange
-        when(categoryRepository.existsByNameAndUser_UuidAndStatus(createCategoryRequest.name(), testUser.getUuid(), StatusEnum.ACTIVE.getCode())).thenReturn(false);
-        when(userRepository.findByUuidAndStatus(testUser.getUuid(), StatusEnum.ACTIVE.getCode())).thenReturn(Optional.of(testUser));
+        when(currentUserContext.getUserReference(testUser.getUuid())).thenReturn(Optional.of(testUser));
+        when(categoryRepository.existsByNameAndUser_IdAndStatus(createCategoryRequest.name(), testUser.getId(), StatusEnum.ACTIVE.getCode())).thenReturn(false);
 
         // Act
         CategorySummaryResponse response = categoryService.create(testUser.getUuid(), createCategoryRequest);
@@ -86,6 +89,8 @@ public class CategoryServiceTest {
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.name()).isEqualTo("techStaff");
+        // The owner is referenced through the request context, never loaded again
+        verify(currentUserContext, never()).findActiveUser(any());
     }
 
     // Stubbing is the process of defining what these mock objects should return when specific methods
@@ -93,7 +98,8 @@ public class CategoryServiceTest {
     @Test
     void createCategory_InvalidReq_ThrowDuplicateResourceException() {
         // Arrange/ Stubbing
-        when(categoryRepository.existsByNameAndUser_UuidAndStatus(createCategoryRequest.name(), testUser.getUuid(), StatusEnum.ACTIVE.getCode()))
+        when(currentUserContext.getUserReference(testUser.getUuid())).thenReturn(Optional.of(testUser));
+        when(categoryRepository.existsByNameAndUser_IdAndStatus(createCategoryRequest.name(), testUser.getId(), StatusEnum.ACTIVE.getCode()))
                 .thenReturn(true); // Stubbing 1
 
         // Act & Assert
@@ -105,7 +111,8 @@ public class CategoryServiceTest {
 
     @Test
     void updateCategory_Valid_Request_SuccessfulResponse() {
-        when(categoryRepository.findByUuidAndUser_UuidAndStatus(category.getUuid(), testUser.getUuid(), StatusEnum.ACTIVE.getCode()))
+        when(currentUserContext.userId(testUser.getUuid())).thenReturn(Optional.of(testUser.getId()));
+        when(categoryRepository.findByUuid(category.getUuid()))
                 .thenReturn(Optional.of(category)); // Stubbing 1
 
         // Act
@@ -118,4 +125,15 @@ public class CategoryServiceTest {
         assertThat(response.name()).isEqualTo("groceries");
     }
 
+    @Test
+    void updateCategory_OtherUsersCategory_ThrowResourceNotFoundException() {
+        when(currentUserContext.userId(testUser.getUuid())).thenReturn(Optional.of(2L));
+        when(categoryRepository.findByUuid(category.getUuid())).thenReturn(Optional.of(category));
+
+        assertThatThrownBy(() -> categoryService.update(testUser.getUuid(), category.getUuid(), updateCategoryRequest))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(category.getName()).isEqualTo("Groceries");
+    }
+
 }
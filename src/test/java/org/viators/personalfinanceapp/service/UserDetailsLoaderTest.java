@@ -0,0 +1,146 @@
+package org.viators.personalfinanceapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.viators.personalfinanceapp.dto.category.response.CategorySummaryResponse;
+import org.viators.personalfinanceapp.dto.user.response.UserDetailsResponse;
+import org.viators.personalfinanceapp.exceptions.DeadlineExceededException;
+import org.viators.personalfinanceapp.exceptions.ResourceNotFoundException;
+import org.viators.personalfinanceapp.model.Item;
+import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.StatusEnum;
+import org.viators.personalfinanceapp.repository.UserDetailsRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsLoader Unit Test")
+public class UserDetailsLoaderTest {
+
+    private static final String USER_UUID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private UserDetailsRepository userDetailsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .uuid(USER_UUID)
+                .username("johndoe")
+                .email("john@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .status(StatusEnum.ACTIVE.getCode())
+                .build();
+    }
+
+    @Test
+    @DisplayName("load - user exists - assembles every section")
+    void load_UserExists_ReturnsDetails() {
+        Item item = new Item();
+        item.setName("Milk");
+        when(userDetailsRepository.findUserWithPreferences(USER_UUID)).thenReturn(Optional.of(testUser));
+        when(userDetailsRepository.findItems(1L, 101)).thenReturn(List.of(item));
+        stubEmptySections();
+
+        UserDetailsResponse response = loader(3000).load(USER_UUID, true);
+
+        assertThat(response.uuid()).isEqualTo(USER_UUID);
+        assertThat(response.username()).isEqualTo("johndoe");
+        assertThat(response.items().content()).extracting("name").containsExactly("Milk");
+        assertThat(response.items().hasMore()).isFalse();
+        assertThat(response.baskets().content()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("load - section longer than the limit - cut at the limit and flagged with a link to the paged endpoint")
+    void load_SectionOverLimit_FlaggedAsTruncated() {
+        List<CategorySummaryResponse> categories = IntStream.rangeClosed(1, 101)
+                .mapToObj(i -> new CategorySummaryResponse("Category " + i, null))
+                .toList();
+        when(userDetailsRepository.findUserWithPreferences(USER_UUID)).thenReturn(Optional.of(testUser));
+        lenient().when(userDetailsRepository.findItems(anyLong(), anyInt())).thenReturn(List.of());
+        stubEmptySections();
+        when(userDetailsRepository.findCategorySummaries(1L, 101)).thenReturn(categories);
+
+        UserDetailsResponse response = loader(3000).load(USER_UUID, true);
+
+        assertThat(response.categories().content()).hasSize(100);
+        assertThat(response.categories().hasMore()).isTrue();
+        assertThat(response.categories().moreUrl()).isEqualTo(UserDetailsLoader.CATEGORIES_URL);
+        assertThat(response.items().hasMore()).isFalse();
+        assertThat(response.items().moreUrl()).isNull();
+    }
+
+    @Test
+    @DisplayName("load - section longer than the limit on another user's page - flagged without a link")
+    void load_SectionOverLimitOfOtherUser_NoLink() {
+        List<CategorySummaryResponse> categories = IntStream.rangeClosed(1, 101)
+                .mapToObj(i -> new CategorySummaryResponse("Category " + i, null))
+                .toList();
+        when(userDetailsRepository.findUserWithPreferences(USER_UUID)).thenReturn(Optional.of(testUser));
+        lenient().when(userDetailsRepository.findItems(anyLong(), anyInt())).thenReturn(List.of());
+        stubEmptySections();
+        when(userDetailsRepository.findCategorySummaries(1L, 101)).thenReturn(categories);
+
+        UserDetailsResponse response = loader(3000).load(USER_UUID, false);
+
+        assertThat(response.categories().hasMore()).isTrue();
+        assertThat(response.categories().moreUrl()).isNull();
+    }
+
+    @Test
+    @DisplayName("load - unknown user - throws ResourceNotFoundException")
+    void load_UnknownUser_ThrowsException() {
+        when(userDetailsRepository.findUserWithPreferences(USER_UUID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> loader(3000).load(USER_UUID, true))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("load - section slower than the deadline - throws DeadlineExceededException")
+    void load_SlowSection_ThrowsDeadlineExceeded() {
+        when(userDetailsRepository.findUserWithPreferences(USER_UUID)).thenReturn(Optional.of(testUser));
+        when(userDetailsRepository.findItems(1L, 101)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+        stubEmptySections();
+
+        assertThatThrownBy(() -> loader(200).load(USER_UUID, true))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private UserDetailsLoader loader(long deadlineMs) {
+        return new UserDetailsLoader(userDetailsRepository, transactionManager, 100, 2, deadlineMs);
+    }
+
+    private void stubEmptySections() {
+        lenient().when(userDetailsRepository.findCategorySummaries(anyLong(), anyInt())).thenReturn(List.of());
+        lenient().when(userDetailsRepository.findPriceAlerts(anyLong(), anyInt())).thenReturn(List.of());
+        lenient().when(userDetailsRepository.findShoppingListSummaries(anyLong(), anyInt())).thenReturn(List.of());
+        lenient().when(userDetailsRepository.findInflationReports(anyLong(), anyInt())).thenReturn(List.of());
+        lenient().when(userDetailsRepository.findBasketSummaries(anyLong(), anyInt())).thenReturn(List.of());
+    }
+}
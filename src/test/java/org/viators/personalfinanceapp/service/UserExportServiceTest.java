@@ -0,0 +1,78 @@
+package org.viators.personalfinanceapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.model.enums.ExportFormatEnum;
+import org.viators.personalfinanceapp.repository.UserRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserExportService Unit Test")
+public class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("export - NDJSON - one JSON object per line")
+    void export_Ndjson_WritesOneObjectPerLine() throws Exception {
+        when(userRepository.streamAllSummaries()).thenReturn(users());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = new UserExportService(userRepository, jsonMapper).export(ExportFormatEnum.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(jsonMapper.readValue(lines[1], UserSummaryResponse.class).email()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    @DisplayName("export - CSV - header and quoted fields")
+    void export_Csv_QuotesFieldsWithSeparators() throws Exception {
+        when(userRepository.streamAllSummaries()).thenReturn(users());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new UserExportService(userRepository, jsonMapper).export(ExportFormatEnum.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "uuid,username,fullName,email,status",
+                "u-1,johndoe,John Doe,john@example.com,1",
+                "u-2,jane,\"Jane \"\"JD\"\", Doe\",jane@example.com,1");
+    }
+
+    @Test
+    @DisplayName("export - CSV - fields starting like a formula are prefixed with a quote")
+    void export_Csv_NeutralisesFormulas() throws Exception {
+        when(userRepository.streamAllSummaries()).thenReturn(Stream.of(
+                new UserSummaryResponse("u-3", "=HYPERLINK(\"http://evil\",\"x\")", "+1 Doe", "@jane", "-1"),
+                new UserSummaryResponse("u-4", "\tjohn", "\rJohn", "john-doe@example.com", "1")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new UserExportService(userRepository, jsonMapper).export(ExportFormatEnum.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "uuid,username,fullName,email,status",
+                "u-3,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'+1 Doe,'@jane,'-1",
+                "u-4,'\tjohn,\"'\rJohn\",john-doe@example.com,1");
+    }
+
+    private static Stream<UserSummaryResponse> users() {
+        return Stream.of(
+                new UserSummaryResponse("u-1", "johndoe", "John Doe", "john@example.com", "1"),
+                new UserSummaryResponse("u-2", "jane", "Jane \"JD\", Doe", "jane@example.com", "1"));
+    }
+}
@@ -18,6 +18,7 @@ import org.viators.personalfinanceapp.model.enums.StatusEnum;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 import org.viators.personalfinanceapp.repository.StoreRepository;
 import org.viators.personalfinanceapp.repository.UserPreferencesRepository;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
 
 import java.util.Optional;
 
@@ -35,6 +36,9 @@ public class UserPreferencesServiceTest {
     @Mock
     private StoreRepository storeRepository;
 
+    @Mock
+    private CurrentUserContext currentUserContext;
+
     @InjectMocks
     private UserPreferencesService userPreferencesService;
 
@@ -76,7 +80,8 @@ public class UserPreferencesServiceTest {
     void updateUserRequest_validRequest_UpdatePref() {
         // Arrange
         String userUuid = testUser.getUuid();
-        when(userPreferencesRepository.findByUser_Uuid(userUuid))
+        when(currentUserContext.userId(userUuid)).thenReturn(Optional.of(testUser.getId()));
+        when(userPreferencesRepository.findByUser_Id(testUser.getId()))
                 .thenReturn(Optional.of(userPreferences));
 
         System.out.println(userPreferences);
@@ -93,7 +98,7 @@ public class UserPreferencesServiceTest {
     @Test
     void updateUserPreferences_invalidRequest_ThrowException() {
         // Arrange
-        when(userPreferencesRepository.findByUser_Uuid(testUser.getUuid())).thenReturn(Optional.empty());
+        when(currentUserContext.userId(testUser.getUuid())).thenReturn(Optional.empty());
 
         // Act && Assert
         assertThatThrownBy(() -> userPreferencesService.updateUserPrefs(testUser.getUuid(), updateUserPrefRequest))
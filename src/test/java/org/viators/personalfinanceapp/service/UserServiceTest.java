@@ -7,20 +7,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.viators.personalfinanceapp.dto.user.request.CreateUserRequest;
 import org.viators.personalfinanceapp.dto.user.response.UserSummaryResponse;
+import org.viators.personalfinanceapp.events.UserChangedEvent;
 import org.viators.personalfinanceapp.exceptions.DuplicateResourceException;
 import org.viators.personalfinanceapp.model.User;
+import org.viators.personalfinanceapp.model.enums.SearchModeEnum;
 import org.viators.personalfinanceapp.model.enums.StatusEnum;
 import org.viators.personalfinanceapp.model.enums.UserRolesEnum;
 import org.viators.personalfinanceapp.repository.UserRepository;
+import org.viators.personalfinanceapp.security.CurrentUserContext;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,9 +45,18 @@ public class UserServiceTest {
      */
     private UserRepository userRepository;
 
+    @Mock
+    private UserDetailsLoader userDetailsLoader;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CurrentUserContext currentUserContext;
+
     @InjectMocks
     /**
      * Mockito creates a real UserService instance
@@ -135,7 +155,7 @@ public class UserServiceTest {
     @Test
     @DisplayName("deactivate user - user exists and is active - user deactivated successfully")
     void deactivateUser_UserExistsAndIsActive_UserDeactivated() {
-        when(userRepository.findByUuidAndStatus("550e8400-e29b-41d4-a716-446655440000", StatusEnum.ACTIVE.getCode()))
+        when(currentUserContext.findActiveUser("550e8400-e29b-41d4-a716-446655440000"))
                 .thenReturn(Optional.ofNullable(testUser));
 
         System.out.println(testUser.getStatus());
@@ -143,5 +163,45 @@ public class UserServiceTest {
         System.out.println(testUser.getStatus());
 
         assertThat(testUser.getStatus()).isEqualTo(StatusEnum.INACTIVE.getCode());
+        // Deactivation must revoke the tokens already issued to the user
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserChangedEvent changed && changed.revokesTokens()));
+    }
+
+    @Test
+    @DisplayName("upgrade password hash - active user - rehashed and cached hash evicted without revoking tokens")
+    void upgradePasswordHash_ActiveUser_PublishesNonRevokingChange() {
+        when(currentUserContext.findActiveUser("550e8400-e29b-41d4-a716-446655440000"))
+                .thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("Password123!")).thenReturn("rehashed");
+
+        userService.upgradePasswordHash("550e8400-e29b-41d4-a716-446655440000", "Password123!");
+
+        assertThat(testUser.getPassword()).isEqualTo("rehashed");
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserChangedEvent changed
+                        && changed.changeType() == UserChangedEvent.ChangeType.PASSWORD_REHASHED
+                        && !changed.revokesTokens()));
+    }
+
+    @Test
+    @DisplayName("search users - infix query with wildcards - matched literally anywhere in the fields")
+    void searchUsers_ContainsWithWildcards_EscapesPattern() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userRepository.searchUsers(Set.of("50%", "0%_", "%_o", "_of", "off"), 5, "%50!%!_off%", pageable))
+                .thenReturn(new SliceImpl<>(List.of(testUser), pageable, false));
+
+        Slice<UserSummaryResponse> result = userService.searchUsers(" 50%_OFF ", SearchModeEnum.CONTAINS, pageable);
+
+        assertThat(result.getContent()).extracting(UserSummaryResponse::username).containsExactly("johndoe");
+    }
+
+    @Test
+    @DisplayName("search users - infix query shorter than a trigram - matched as a prefix")
+    void searchUsers_ShortContainsQuery_FallsBackToPrefix() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userRepository.searchUsers(Set.of("  j", " jo"), 2, "jo%", pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        assertThat(userService.searchUsers("Jo", SearchModeEnum.CONTAINS, pageable)).isEmpty();
     }
 }